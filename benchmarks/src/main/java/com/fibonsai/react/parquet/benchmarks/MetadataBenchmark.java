@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet.benchmarks;
+
+import com.fibonsai.react.parquet.ParquetMetadataCache;
+import com.fibonsai.react.parquet.ParquetUtils;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParquetUtils#showMetadata(String)} with the footer cached, and read again each time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataBenchmark {
+
+    @Param({"NARROW", "WIDE"})
+    public SyntheticFiles.Shape shape;
+
+    @Param({"1048576", "134217728"})
+    public long rowGroupSize;
+
+    private String filePath;
+
+    @Setup
+    public void setUp() throws IOException {
+        filePath = SyntheticFiles.file(shape, 200_000, rowGroupSize, CompressionCodecName.SNAPPY).toString();
+    }
+
+    @Benchmark
+    public ParquetUtils.FileInfo showMetadataCached() {
+        return ParquetUtils.showMetadata(filePath);
+    }
+
+    @Benchmark
+    public ParquetUtils.FileInfo showMetadataUncached() {
+        ParquetMetadataCache.shared().clear();
+        return ParquetUtils.showMetadata(filePath);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet.benchmarks;
+
+import com.fibonsai.react.parquet.MappedNioInputFile;
+import com.fibonsai.react.parquet.NioInputFile;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.ParquetFileRange;
+import org.apache.parquet.io.SeekableInputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stream primitives of {@link NioInputFile} and {@link MappedNioInputFile}: sequential reads, random small
+ * reads and vectored reads of 1 MiB ranges, reporting bytes/s besides the operations per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NioInputFileBenchmark {
+
+    @Param({"channel", "mapped"})
+    public String kind;
+
+    @Param({"8192", "65536", "1048576"})
+    public int readAheadSize;
+
+    private Path file;
+    private long length;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        file = SyntheticFiles.file(SyntheticFiles.Shape.STRINGS, 200_000, 8 * 1024 * 1024, CompressionCodecName.UNCOMPRESSED);
+        length = Files.size(file);
+    }
+
+    private InputFile inputFile() {
+        return kind.equals("mapped") ? new MappedNioInputFile(file) : new NioInputFile(file, readAheadSize);
+    }
+
+    @Benchmark
+    public long sequentialReads(Counters counters) throws IOException {
+        byte[] buffer = new byte[8192];
+        long sum = 0;
+        try (SeekableInputStream stream = inputFile().newStream()) {
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                sum += buffer[read - 1];
+                counters.bytes += read;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long randomReads(Counters counters) throws IOException {
+        byte[] buffer = new byte[4096];
+        SplittableRandom random = new SplittableRandom(7);
+        long sum = 0;
+        try (SeekableInputStream stream = inputFile().newStream()) {
+            for (int i = 0; i < 1024; i++) {
+                stream.seek(random.nextLong(length - buffer.length));
+                stream.readFully(buffer);
+                sum += buffer[0];
+                counters.bytes += buffer.length;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long vectoredReads(Counters counters) throws Exception {
+        int rangeSize = 1024 * 1024;
+        List<ParquetFileRange> ranges = new ArrayList<>();
+        for (long offset = 0; offset + rangeSize <= length; offset += 2L * rangeSize) {
+            ranges.add(new ParquetFileRange(offset, rangeSize));
+        }
+        long sum = 0;
+        try (SeekableInputStream stream = inputFile().newStream()) {
+            stream.readVectored(ranges, new HeapByteBufferAllocator());
+            for (ParquetFileRange range : ranges) {
+                ByteBuffer data = range.getDataReadFuture().get();
+                sum += data.get(data.limit() - 1);
+                counters.bytes += data.remaining();
+            }
+        }
+        return sum;
+    }
+}
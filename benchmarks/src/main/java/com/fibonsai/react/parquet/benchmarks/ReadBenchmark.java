@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet.benchmarks;
+
+import com.fibonsai.react.parquet.ColumnBatch;
+import com.fibonsai.react.parquet.ReactParquetReader;
+import com.fibonsai.react.parquet.ReadOptions;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads whole synthetic files with {@link ReactParquetReader}, reporting rows/s and file bytes/s besides the
+ * operations per second. Run with the gc profiler, the default of {@link BenchmarkMain}, for allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"NARROW", "WIDE", "NESTED", "STRINGS", "NUMERIC"})
+    public SyntheticFiles.Shape shape;
+
+    @Param({"UNCOMPRESSED", "SNAPPY", "ZSTD"})
+    public CompressionCodecName codec;
+
+    @Param({"8388608", "134217728"})
+    public long rowGroupSize;
+
+    @Param({"200000"})
+    public int rows;
+
+    private final ReactParquetReader reader = new ReactParquetReader();
+    private String filePath;
+    private long fileSize;
+
+    /**
+     * Rows and bytes read, reported by JMH as rates.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long rows;
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path file = SyntheticFiles.file(shape, rows, rowGroupSize, codec);
+        filePath = file.toString();
+        fileSize = Files.size(file);
+    }
+
+    @Benchmark
+    public void readParquetFile(Counters counters, Blackhole blackhole) {
+        long count = reader.readParquetFile(filePath, ReadOptions.builder().memoryMapping(true).build())
+                .doOnNext(blackhole::consume)
+                .count()
+                .block();
+        counters.rows += count;
+        counters.bytes += fileSize;
+    }
+
+    @Benchmark
+    public void readParquetFileThroughChannel(Counters counters, Blackhole blackhole) {
+        long count = reader.readParquetFile(filePath, ReadOptions.builder().memoryMapping(false).build())
+                .doOnNext(blackhole::consume)
+                .count()
+                .block();
+        counters.rows += count;
+        counters.bytes += fileSize;
+    }
+
+    @Benchmark
+    public void readParquetFileParallel(Counters counters, Blackhole blackhole) {
+        long count = reader.readParquetFile(filePath, ReadOptions.builder().parallelism(4).build())
+                .doOnNext(blackhole::consume)
+                .count()
+                .block();
+        counters.rows += count;
+        counters.bytes += fileSize;
+    }
+
+    @Benchmark
+    public void readColumnBatches(Counters counters, Blackhole blackhole) {
+        if (shape == SyntheticFiles.Shape.NESTED) {
+            // repeated columns aren't supported by columnar reads
+            return;
+        }
+        long count = reader.readColumnBatches(filePath, 4096)
+                .doOnNext(blackhole::consume)
+                .map(ColumnBatch::rowCount)
+                .reduce(0L, Long::sum)
+                .block();
+        counters.rows += count;
+        counters.bytes += fileSize;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet.benchmarks;
+
+import com.fibonsai.react.parquet.ReactParquetWriter;
+import com.fibonsai.react.parquet.WriteOptions;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the files read by the benchmarks, deterministically, under java.io.tmpdir/reactparquet-benchmarks.
+ * Files are generated once and reused by the following forks and runs.
+ */
+public final class SyntheticFiles {
+
+    /**
+     * The schemas of the generated files.
+     */
+    public enum Shape {
+        /** A few numeric columns. */
+        NARROW,
+        /** 64 columns of mixed types. */
+        WIDE,
+        /** Nested groups and lists. */
+        NESTED,
+        /** Mostly strings, of varied lengths and cardinalities. */
+        STRINGS,
+        /** Only numeric columns, including a timestamp. */
+        NUMERIC
+    }
+
+    private static final int WIDE_COLUMNS = 64;
+    private static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel"};
+
+    private SyntheticFiles() {}
+
+    static Path file(Shape shape, int rows, long rowGroupSize, CompressionCodecName codec) throws IOException {
+        Path dir = Path.of(System.getProperty("java.io.tmpdir"), "reactparquet-benchmarks");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("%s-%d-%d-%s.parquet".formatted(shape, rows, rowGroupSize, codec).toLowerCase());
+        if (Files.exists(file)) {
+            return file;
+        }
+        // written aside then moved, so that an interrupted run never leaves a truncated file behind
+        Path partial = dir.resolve(file.getFileName() + ".partial");
+        Files.deleteIfExists(partial);
+        WriteOptions options = WriteOptions.builder()
+                .rowGroupSize(rowGroupSize)
+                .codec(codec)
+                .build();
+        new ReactParquetWriter().writeParquetFile(rows(shape, rows), partial.toString(), schema(shape), options).block();
+        Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    static MessageType schema(Shape shape) {
+        return switch (shape) {
+            case NARROW -> MessageTypeParser.parseMessageType("""
+                    message narrow {
+                      required int64 id;
+                      optional int32 quantity;
+                      optional double price;
+                    }
+                    """);
+            case WIDE -> {
+                StringBuilder fields = new StringBuilder("message wide {\n  required int64 id;\n");
+                for (int i = 0; i < WIDE_COLUMNS; i++) {
+                    String type = switch (i % 4) {
+                        case 0 -> "int32";
+                        case 1 -> "int64";
+                        case 2 -> "double";
+                        default -> "binary";
+                    };
+                    fields.append("  optional %s c%d%s;\n".formatted(type, i, i % 4 == 3 ? " (STRING)" : ""));
+                }
+                yield MessageTypeParser.parseMessageType(fields.append("}\n").toString());
+            }
+            case NESTED -> MessageTypeParser.parseMessageType("""
+                    message nested {
+                      required int64 id;
+                      optional group customer {
+                        optional binary name (STRING);
+                        optional group address {
+                          optional binary city (STRING);
+                          optional int32 zip;
+                        }
+                      }
+                      optional group tags (LIST) {
+                        repeated group list {
+                          optional binary element (STRING);
+                        }
+                      }
+                      optional group scores (LIST) {
+                        repeated group list {
+                          optional double element;
+                        }
+                      }
+                    }
+                    """);
+            case STRINGS -> MessageTypeParser.parseMessageType("""
+                    message strings {
+                      required int64 id;
+                      optional binary category (STRING);
+                      optional binary name (STRING);
+                      optional binary description (STRING);
+                      optional binary code (STRING);
+                    }
+                    """);
+            case NUMERIC -> MessageTypeParser.parseMessageType("""
+                    message numeric {
+                      required int64 id;
+                      required int64 ts (TIMESTAMP(MICROS,true));
+                      optional int32 i32;
+                      optional int64 i64;
+                      optional float f32;
+                      optional double f64;
+                      optional boolean flag;
+                    }
+                    """);
+        };
+    }
+
+    static Flux<Map<String, Object>> rows(Shape shape, int rows) {
+        return Flux.defer(() -> {
+            SplittableRandom random = new SplittableRandom(42);
+            LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+            return Flux.range(0, rows).map(i -> row(shape, i, random, start));
+        });
+    }
+
+    private static Map<String, Object> row(Shape shape, long id, SplittableRandom random, LocalDateTime start) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        switch (shape) {
+            case NARROW -> {
+                row.put("quantity", random.nextInt(1000));
+                row.put("price", random.nextDouble(1, 1000));
+            }
+            case WIDE -> {
+                for (int i = 0; i < WIDE_COLUMNS; i++) {
+                    if (random.nextInt(10) == 0) {
+                        continue;
+                    }
+                    row.put("c" + i, switch (i % 4) {
+                        case 0 -> random.nextInt();
+                        case 1 -> random.nextLong();
+                        case 2 -> random.nextDouble();
+                        default -> WORDS[random.nextInt(WORDS.length)] + random.nextInt(100);
+                    });
+                }
+            }
+            case NESTED -> {
+                row.put("customer", Map.of(
+                        "name", "customer-" + random.nextInt(10_000),
+                        "address", Map.of("city", WORDS[random.nextInt(WORDS.length)], "zip", random.nextInt(99_999))));
+                row.put("tags", List.of(WORDS[random.nextInt(WORDS.length)], WORDS[random.nextInt(WORDS.length)]));
+                row.put("scores", List.of(random.nextDouble(), random.nextDouble(), random.nextDouble()));
+            }
+            case STRINGS -> {
+                row.put("category", WORDS[random.nextInt(WORDS.length)]);
+                row.put("name", "name-" + random.nextInt(100_000));
+                row.put("description", randomText(random, 20 + random.nextInt(200)));
+                row.put("code", Long.toHexString(random.nextLong()));
+            }
+            case NUMERIC -> {
+                row.put("ts", start.plusNanos(id * 1_000_000L));
+                row.put("i32", random.nextInt());
+                row.put("i64", random.nextLong());
+                row.put("f32", (float) random.nextDouble());
+                row.put("f64", random.nextDouble());
+                row.put("flag", random.nextBoolean());
+            }
+        }
+        return row;
+    }
+
+    private static String randomText(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
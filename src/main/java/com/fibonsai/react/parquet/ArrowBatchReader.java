@@ -0,0 +1,207 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Decimal256Vector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimestampLogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the columns of a row group into the vectors of a {@link VectorSchemaRoot}, straight from the
+ * {@link ColumnReader}s like {@link ColumnBatchReader}. The same root is filled with each batch, its vectors reset
+ * and their buffers reused. Only non repeated columns are supported, nested fields are flattened into columns
+ * named by their dot separated path.
+ */
+final class ArrowBatchReader {
+
+    /**
+     * Writes the current value of a column reader at a row of a vector.
+     */
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(ColumnReader reader, FieldVector vector, int row);
+    }
+
+    private final ColumnarRowGroup rowGroup;
+    private final ValueWriter[] writers;
+    private final VectorSchemaRoot root;
+
+    /**
+     * Skips the first skippedRows rows of the pages, then reads rowCount rows into root, running onDone once all
+     * are read. The root must have the {@link #schema(MessageType)} of schema.
+     */
+    ArrowBatchReader(PageReadStore pages, MessageType schema, String createdBy, VectorSchemaRoot root, int batchSize,
+                     long skippedRows, long rowCount, Runnable onDone) {
+        this.rowGroup = new ColumnarRowGroup(pages, schema, createdBy, batchSize, skippedRows, rowCount, onDone);
+        this.root = root;
+        List<ColumnDescriptor> descriptors = schema.getColumns();
+        this.writers = new ValueWriter[descriptors.size()];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = writer(descriptors.get(i).getPrimitiveType());
+        }
+    }
+
+    /**
+     * The Arrow schema of the columns of a parquet schema, in schema order.
+     */
+    static Schema schema(MessageType schema) {
+        List<Field> fields = new ArrayList<>();
+        for (ColumnDescriptor column : ColumnarRowGroup.checkColumns(schema)) {
+            FieldType type = new FieldType(column.getMaxDefinitionLevel() > 0, arrowType(column.getPrimitiveType()), null);
+            fields.add(new Field(String.join(".", column.getPath()), type, null));
+        }
+        return new Schema(fields);
+    }
+
+    private static ArrowType arrowType(PrimitiveType column) {
+        return switch (ValueType.of(column)) {
+            case BOOLEAN -> ArrowType.Bool.INSTANCE;
+            case INT32 -> new ArrowType.Int(32, true);
+            case INT64 -> new ArrowType.Int(64, true);
+            case FLOAT -> new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case DOUBLE -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case DATE -> new ArrowType.Date(DateUnit.DAY);
+            case TIMESTAMP_MILLIS -> timestamp(column, TimeUnit.MILLISECOND);
+            case TIMESTAMP_MICROS -> timestamp(column, TimeUnit.MICROSECOND);
+            case TIMESTAMP_NANOS -> timestamp(column, TimeUnit.NANOSECOND);
+            case INT96_TIMESTAMP -> new ArrowType.Timestamp(TimeUnit.NANOSECOND, null);
+            case DECIMAL -> {
+                var decimal = (DecimalLogicalTypeAnnotation) column.getLogicalTypeAnnotation();
+                yield new ArrowType.Decimal(decimal.getPrecision(), decimal.getScale(),
+                        decimal.getPrecision() > 38 ? 256 : 128);
+            }
+            case UUID -> new ArrowType.FixedSizeBinary(16);
+            case STRING -> {
+                if (isText(column.getLogicalTypeAnnotation())) {
+                    yield ArrowType.Utf8.INSTANCE;
+                }
+                yield column.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY
+                        ? new ArrowType.FixedSizeBinary(column.getTypeLength())
+                        : ArrowType.Binary.INSTANCE;
+            }
+        };
+    }
+
+    private static ArrowType timestamp(PrimitiveType column, TimeUnit unit) {
+        var timestamp = (TimestampLogicalTypeAnnotation) column.getLogicalTypeAnnotation();
+        return new ArrowType.Timestamp(unit, timestamp.isAdjustedToUTC() ? "UTC" : null);
+    }
+
+    private static boolean isText(LogicalTypeAnnotation logicalType) {
+        return logicalType instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation
+                || logicalType instanceof LogicalTypeAnnotation.EnumLogicalTypeAnnotation
+                || logicalType instanceof LogicalTypeAnnotation.JsonLogicalTypeAnnotation;
+    }
+
+    /**
+     * Writes the values of the column to the vectors created for its {@link #arrowType(PrimitiveType)}.
+     */
+    private static ValueWriter writer(PrimitiveType column) {
+        return switch (ValueType.of(column)) {
+            case BOOLEAN -> (reader, vector, row) -> ((BitVector) vector).setSafe(row, reader.getBoolean() ? 1 : 0);
+            case INT32 -> (reader, vector, row) -> ((IntVector) vector).setSafe(row, reader.getInteger());
+            case INT64 -> (reader, vector, row) -> ((BigIntVector) vector).setSafe(row, reader.getLong());
+            case FLOAT -> (reader, vector, row) -> ((Float4Vector) vector).setSafe(row, reader.getFloat());
+            case DOUBLE -> (reader, vector, row) -> ((Float8Vector) vector).setSafe(row, reader.getDouble());
+            case DATE -> (reader, vector, row) -> ((DateDayVector) vector).setSafe(row, reader.getInteger());
+            case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS ->
+                    (reader, vector, row) -> ((TimeStampVector) vector).setSafe(row, reader.getLong());
+            case INT96_TIMESTAMP -> (reader, vector, row) ->
+                    ((TimeStampVector) vector).setSafe(row, ValueType.int96ToEpochNanos(reader.getBinary()));
+            case DECIMAL -> {
+                boolean wide = ((DecimalLogicalTypeAnnotation) column.getLogicalTypeAnnotation()).getPrecision() > 38;
+                yield switch (column.getPrimitiveTypeName()) {
+                    case INT32 -> wide
+                            ? (reader, vector, row) -> ((Decimal256Vector) vector).setSafe(row, reader.getInteger())
+                            : (reader, vector, row) -> ((DecimalVector) vector).setSafe(row, reader.getInteger());
+                    case INT64 -> wide
+                            ? (reader, vector, row) -> ((Decimal256Vector) vector).setSafe(row, reader.getLong())
+                            : (reader, vector, row) -> ((DecimalVector) vector).setSafe(row, reader.getLong());
+                    default -> wide
+                            ? (reader, vector, row) -> ((Decimal256Vector) vector).setBigEndianSafe(row, reader.getBinary().getBytes())
+                            : (reader, vector, row) -> ((DecimalVector) vector).setBigEndianSafe(row, reader.getBinary().getBytes());
+                };
+            }
+            case UUID -> (reader, vector, row) -> ((FixedSizeBinaryVector) vector).setSafe(row, reader.getBinary().getBytes());
+            case STRING -> {
+                if (!isText(column.getLogicalTypeAnnotation())
+                        && column.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY) {
+                    yield (reader, vector, row) -> ((FixedSizeBinaryVector) vector).setSafe(row, reader.getBinary().getBytes());
+                }
+                // values are copied through a buffer of the column, not wrapped one by one
+                BinaryBuffer value = new BinaryBuffer(64);
+                yield (reader, vector, row) -> {
+                    value.reset();
+                    value.append(reader.getBinary());
+                    ((BaseVariableWidthVector) vector).setSafe(row, value.array(), 0, value.length());
+                };
+            }
+        };
+    }
+
+    /**
+     * Reads the next batch into the root, or returns false when the row group is exhausted.
+     */
+    boolean next() {
+        int rows = rowGroup.next((column, reader, descriptor, batchRows) ->
+                readColumn(reader, writers[column], descriptor, root.getVector(column), batchRows));
+        if (rows == 0) {
+            return false;
+        }
+        root.setRowCount(rows);
+        return true;
+    }
+
+    private static void readColumn(ColumnReader reader, ValueWriter writer, ColumnDescriptor descriptor,
+                                   FieldVector vector, int rows) {
+        // reset vectors keep their buffers and read as null where no value is written
+        vector.reset();
+        int maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+        for (int row = 0; row < rows; row++) {
+            if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                writer.write(reader, vector, row);
+            }
+            reader.consume();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.io.api.Binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Growable byte array binary values are appended to. Values are written out through
+ * {@link Binary#writeTo(OutputStream)}, which copies them straight from their backing array, so that appending
+ * allocates nothing per value. Values of direct buffers are still copied out by parquet.
+ */
+final class BinaryBuffer extends OutputStream {
+
+    private byte[] bytes;
+    private int length = 0;
+
+    BinaryBuffer(int capacity) {
+        this.bytes = new byte[Math.max(16, capacity)];
+    }
+
+    void append(Binary value) {
+        try {
+            value.writeTo(this);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, bytes, length, len);
+        length += len;
+    }
+
+    private void ensureCapacity(int len) {
+        if (length + len > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + len));
+        }
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * The backing array, valid until the next append.
+     */
+    byte[] array() {
+        return bytes;
+    }
+
+    void reset() {
+        length = 0;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Allocator of the buffers the pages are read and decompressed into, recycling them once their row group is
+ * released instead of leaving them to the garbage collector. Direct buffers by default, which also lets snappy
+ * decompress straight from and into them.
+ * <p>
+ * Buffers are pooled in power of two size classes from {@value #MIN_BUFFER_SIZE} bytes to
+ * {@value #MAX_BUFFER_SIZE} bytes, up to maxPooledBytes of idle buffers. Larger buffers, and the ones released
+ * once the pool is full, are left to the garbage collector. Use {@link #stats()} to size the pool: misses mean
+ * the pool is too small for the load, idle bytes that it is too large.
+ */
+public final class BufferPool implements ByteBufferAllocator {
+
+    public static final int MIN_BUFFER_SIZE = 4 * 1024;
+    public static final int MAX_BUFFER_SIZE = 64 * 1024 * 1024;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+
+    /**
+     * Usage of a pool: allocations served from idle buffers or newly allocated, bytes allocated and not released
+     * yet, and bytes of the idle buffers.
+     */
+    public record Stats(long hits, long misses, long outstandingBytes, long idleBytes) {}
+
+    private final long maxPooledBytes;
+    private final boolean direct;
+    private final Deque<ByteBuffer>[] sizeClasses;
+    private final AtomicLong idleBytes = new AtomicLong();
+    private final LongAdder outstandingBytes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile DecompressorPool decompressors;
+
+    /**
+     * A pool of direct buffers keeping up to maxPooledBytes of idle buffers.
+     */
+    public BufferPool(long maxPooledBytes) {
+        this(maxPooledBytes, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BufferPool(long maxPooledBytes, boolean direct) {
+        if (maxPooledBytes < 0) {
+            throw new IllegalArgumentException("maxPooledBytes can't be negative: %d".formatted(maxPooledBytes));
+        }
+        this.maxPooledBytes = maxPooledBytes;
+        this.direct = direct;
+        this.sizeClasses = new Deque[sizeClass(MAX_BUFFER_SIZE) + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    @Override
+    public ByteBuffer allocate(int size) {
+        if (size > MAX_BUFFER_SIZE) {
+            misses.increment();
+            outstandingBytes.add(size);
+            return newBuffer(size);
+        }
+        int sizeClass = sizeClass(size);
+        ByteBuffer buffer = sizeClasses[sizeClass].pollFirst();
+        if (buffer != null) {
+            hits.increment();
+            idleBytes.addAndGet(-buffer.capacity());
+        } else {
+            misses.increment();
+            buffer = newBuffer(MIN_BUFFER_SIZE << sizeClass);
+        }
+        outstandingBytes.add(buffer.capacity());
+        return buffer.clear().limit(size);
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        outstandingBytes.add(-capacity);
+        if (buffer.isDirect() != direct || capacity < MIN_BUFFER_SIZE || capacity > MAX_BUFFER_SIZE
+                || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        if (idleBytes.addAndGet(capacity) > maxPooledBytes) {
+            idleBytes.addAndGet(-capacity);
+            return;
+        }
+        sizeClasses[sizeClass(capacity)].offerFirst(buffer.clear().order(ByteOrder.BIG_ENDIAN));
+    }
+
+    @Override
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public long maxPooledBytes() {
+        return maxPooledBytes;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), outstandingBytes.sum(), idleBytes.get());
+    }
+
+    /**
+     * The decompressors of the readers using this pool: direct ones for direct buffers, the shared heap ones
+     * otherwise.
+     */
+    DecompressorPool decompressors() {
+        if (!direct) {
+            return DecompressorPool.heap();
+        }
+        DecompressorPool pool = decompressors;
+        if (pool == null) {
+            synchronized (this) {
+                pool = decompressors;
+                if (pool == null) {
+                    pool = DecompressorPool.direct(this);
+                    decompressors = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private ByteBuffer newBuffer(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Index of the smallest size class holding size bytes.
+     */
+    private static int sizeClass(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import java.util.List;
+
+/**
+ * Up to batch size rows of a row group, stored column by column.
+ */
+public class ColumnBatch {
+
+    private final int rowCount;
+    private final List<ColumnVector> columns;
+
+    ColumnBatch(int rowCount, List<ColumnVector> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public List<ColumnVector> columns() {
+        return columns;
+    }
+
+    public ColumnVector column(int index) {
+        return columns.get(index);
+    }
+
+    /**
+     * Returns the column with the given dot separated path, or null when it isn't part of the batch.
+     */
+    public ColumnVector column(String path) {
+        for (ColumnVector column : columns) {
+            if (column.path().equals(path)) {
+                return column;
+            }
+        }
+        return null;
+    }
+}
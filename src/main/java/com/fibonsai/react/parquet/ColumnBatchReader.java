@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.schema.MessageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the columns of a row group into {@link ColumnBatch}es straight from the {@link ColumnReader}s,
+ * without materializing records. Only non repeated columns are supported.
+ */
+final class ColumnBatchReader {
+
+    private final ColumnarRowGroup rowGroup;
+
+    /**
+     * Skips the first skippedRows rows of the pages, then reads rowCount rows, running onDone once all are read.
+     */
+    ColumnBatchReader(PageReadStore pages, MessageType schema, String createdBy, int batchSize,
+                      long skippedRows, long rowCount, Runnable onDone) {
+        this.rowGroup = new ColumnarRowGroup(pages, schema, createdBy, batchSize, skippedRows, rowCount, onDone);
+    }
+
+    /**
+     * Returns the next batch, or null when the row group is exhausted.
+     */
+    ColumnBatch next() {
+        List<ColumnVector> columns = new ArrayList<>(rowGroup.columnCount());
+        int rows = rowGroup.next((column, reader, descriptor, batchRows) ->
+                columns.add(readColumn(reader, descriptor, batchRows)));
+        return rows == 0 ? null : new ColumnBatch(rows, List.copyOf(columns));
+    }
+
+    private static ColumnVector readColumn(ColumnReader reader, ColumnDescriptor descriptor, int rows) {
+        int maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+        long[] nulls = new long[(rows + 63) >>> 6];
+        boolean[] booleans = null;
+        int[] ints = null;
+        long[] longs = null;
+        float[] floats = null;
+        double[] doubles = null;
+        int[] offsets = null;
+        byte[] bytes = null;
+        switch (descriptor.getPrimitiveType().getPrimitiveTypeName()) {
+            case BOOLEAN -> {
+                booleans = new boolean[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                        booleans[row] = reader.getBoolean();
+                    } else {
+                        nulls[row >>> 6] |= 1L << row;
+                    }
+                    reader.consume();
+                }
+            }
+            case INT32 -> {
+                ints = new int[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                        ints[row] = reader.getInteger();
+                    } else {
+                        nulls[row >>> 6] |= 1L << row;
+                    }
+                    reader.consume();
+                }
+            }
+            case INT64 -> {
+                longs = new long[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                        longs[row] = reader.getLong();
+                    } else {
+                        nulls[row >>> 6] |= 1L << row;
+                    }
+                    reader.consume();
+                }
+            }
+            case FLOAT -> {
+                floats = new float[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                        floats[row] = reader.getFloat();
+                    } else {
+                        nulls[row >>> 6] |= 1L << row;
+                    }
+                    reader.consume();
+                }
+            }
+            case DOUBLE -> {
+                doubles = new double[rows];
+                for (int row = 0; row < rows; row++) {
+                    if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                        doubles[row] = reader.getDouble();
+                    } else {
+                        nulls[row >>> 6] |= 1L << row;
+                    }
+                    reader.consume();
+                }
+            }
+            case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> {
+                offsets = new int[rows + 1];
+                BinaryBuffer values = new BinaryBuffer(rows * 8);
+                for (int row = 0; row < rows; row++) {
+                    if (reader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                        values.append(reader.getBinary());
+                    } else {
+                        nulls[row >>> 6] |= 1L << row;
+                    }
+                    offsets[row + 1] = values.length();
+                    reader.consume();
+                }
+                bytes = values.toByteArray();
+            }
+        }
+        return new ColumnVector(String.join(".", descriptor.getPath()), descriptor.getPrimitiveType(), rows,
+                nulls, booleans, ints, longs, floats, doubles, offsets, bytes);
+    }
+}
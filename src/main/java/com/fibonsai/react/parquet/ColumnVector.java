@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Values of one column in a {@link ColumnBatch}, stored as a primitive array matching the physical type.
+ * BINARY, FIXED_LEN_BYTE_ARRAY and INT96 values are concatenated in {@link #bytes()}, the value at row i
+ * spanning from offsets[i] to offsets[i + 1]. Null values are flagged in a bitmap and hold a zero or empty value.
+ */
+public class ColumnVector {
+
+    private final String path;
+    private final PrimitiveType type;
+    private final int size;
+    private final long[] nulls;
+    private final boolean[] booleans;
+    private final int[] ints;
+    private final long[] longs;
+    private final float[] floats;
+    private final double[] doubles;
+    private final int[] offsets;
+    private final byte[] bytes;
+
+    ColumnVector(String path, PrimitiveType type, int size, long[] nulls, boolean[] booleans, int[] ints,
+                 long[] longs, float[] floats, double[] doubles, int[] offsets, byte[] bytes) {
+        this.path = path;
+        this.type = type;
+        this.size = size;
+        this.nulls = nulls;
+        this.booleans = booleans;
+        this.ints = ints;
+        this.longs = longs;
+        this.floats = floats;
+        this.doubles = doubles;
+        this.offsets = offsets;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Dot separated path of the column (e.g. "address.city").
+     */
+    public String path() {
+        return path;
+    }
+
+    public PrimitiveType type() {
+        return type;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Null bitmap, bit i of nulls[i / 64] is set when the value at row i is null.
+     */
+    public long[] nulls() {
+        return nulls;
+    }
+
+    public boolean isNull(int row) {
+        return (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public boolean hasNulls() {
+        for (long word : nulls) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean[] booleans() {
+        return booleans;
+    }
+
+    public int[] ints() {
+        return ints;
+    }
+
+    public long[] longs() {
+        return longs;
+    }
+
+    public float[] floats() {
+        return floats;
+    }
+
+    public double[] doubles() {
+        return doubles;
+    }
+
+    public int[] offsets() {
+        return offsets;
+    }
+
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    public boolean getBoolean(int row) {
+        return booleans[row];
+    }
+
+    public int getInt(int row) {
+        return ints[row];
+    }
+
+    public long getLong(int row) {
+        return longs[row];
+    }
+
+    public float getFloat(int row) {
+        return floats[row];
+    }
+
+    public double getDouble(int row) {
+        return doubles[row];
+    }
+
+    public byte[] getBytes(int row) {
+        return Arrays.copyOfRange(bytes, offsets[row], offsets[row + 1]);
+    }
+
+    public String getString(int row) {
+        if (isNull(row)) {
+            return null;
+        }
+        return new String(bytes, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+    }
+}
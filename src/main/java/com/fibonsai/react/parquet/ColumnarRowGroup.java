@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.schema.MessageType;
+
+import java.util.List;
+
+/**
+ * The column readers of a row group read in batches, shared by the columnar readers, {@link ColumnBatchReader}
+ * and {@link ArrowBatchReader}: skips the rows before the range read, meters the decoding of each column, and
+ * reports the row group once all of its rows are read. Only non repeated columns are supported.
+ */
+final class ColumnarRowGroup {
+
+    /**
+     * Decodes the next rows of a column from its reader.
+     */
+    @FunctionalInterface
+    interface ColumnDecoder {
+        void decode(int column, ColumnReader reader, ColumnDescriptor descriptor, int rows);
+    }
+
+    private final List<ColumnDescriptor> descriptors;
+    private final ColumnReader[] readers;
+    private final int batchSize;
+    private final MeteredPageReadStore metered;
+    private final Runnable onDone;
+    private long remaining;
+    private final long rowCount;
+    private long decodeNanos = 0;
+
+    /**
+     * Skips the first skippedRows rows of the pages, then reads rowCount rows, running onDone once all are read.
+     */
+    ColumnarRowGroup(PageReadStore pages, MessageType schema, String createdBy, int batchSize,
+                     long skippedRows, long rowCount, Runnable onDone) {
+        this.descriptors = checkColumns(schema);
+        this.batchSize = batchSize;
+        this.remaining = rowCount;
+        this.rowCount = rowCount;
+        this.metered = pages instanceof MeteredPageReadStore store ? store : null;
+        this.onDone = onDone;
+        ColumnReadStoreImpl columnReadStore = new ColumnReadStoreImpl(pages, new NoopGroupConverter(schema), schema, createdBy);
+        this.readers = new ColumnReader[descriptors.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = columnReadStore.getColumnReader(descriptors.get(i));
+            int maxDefinitionLevel = descriptors.get(i).getMaxDefinitionLevel();
+            for (long row = 0; row < skippedRows; row++) {
+                if (readers[i].getCurrentDefinitionLevel() == maxDefinitionLevel) {
+                    readers[i].skip();
+                }
+                readers[i].consume();
+            }
+        }
+    }
+
+    static List<ColumnDescriptor> checkColumns(MessageType schema) {
+        List<ColumnDescriptor> columns = schema.getColumns();
+        for (ColumnDescriptor column : columns) {
+            if (column.getMaxRepetitionLevel() > 0) {
+                throw new IllegalArgumentException("Repeated column %s is not supported in columnar reads, project it out"
+                        .formatted(String.join(".", column.getPath())));
+            }
+        }
+        return columns;
+    }
+
+    int columnCount() {
+        return readers.length;
+    }
+
+    /**
+     * Decodes the next batch, column by column in schema order, and returns its row count. Returns 0 once the row
+     * group is exhausted, after having reported it and run onDone on the first call.
+     */
+    int next(ColumnDecoder decoder) {
+        if (remaining <= 0) {
+            if (remaining == 0) {
+                remaining = -1;
+                if (metered != null) {
+                    metered.report(rowCount, decodeNanos, true);
+                }
+                onDone.run();
+            }
+            return 0;
+        }
+        int rows = (int) Math.min(batchSize, remaining);
+        for (int i = 0; i < readers.length; i++) {
+            if (metered == null) {
+                decoder.decode(i, readers[i], descriptors.get(i), rows);
+            } else {
+                long start = System.nanoTime();
+                decoder.decode(i, readers[i], descriptors.get(i), rows);
+                long nanos = System.nanoTime() - start;
+                metered.columnDecoded(descriptors.get(i), nanos);
+                decodeNanos += nanos;
+            }
+        }
+        remaining -= rows;
+        return rows;
+    }
+}
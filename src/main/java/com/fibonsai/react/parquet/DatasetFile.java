@@ -0,0 +1,25 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import java.util.Map;
+
+/**
+ * A parquet file of a dataset, with the hive partition values parsed from its directories
+ * (e.g. date=2025-06-01/venue=X), in path order.
+ *
+ * @param path the file path, as accepted by {@link ReactParquetReader#readParquetFile(String)}
+ */
+public record DatasetFile(String path, Map<String, String> partitions) {}
@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Options used by {@link ReactParquetReader} to read a dataset, a directory tree of parquet files partitioned
+ * hive style (e.g. date=2025-06-01/venue=X/part-0.parquet).
+ */
+public class DatasetOptions {
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    private static final DatasetOptions DEFAULTS = builder().build();
+
+    private final ReadOptions readOptions;
+    private final Map<String, Predicate<String>> partitionValueFilters;
+    private final Predicate<Map<String, String>> partitionFilter;
+    private final String fileSuffix;
+    private final int concurrency;
+    private final boolean ordered;
+    private final Scheduler scheduler;
+
+    private DatasetOptions(Builder builder) {
+        this.readOptions = builder.readOptions;
+        this.partitionValueFilters = Map.copyOf(builder.partitionValueFilters);
+        this.partitionFilter = builder.partitionFilter;
+        this.fileSuffix = builder.fileSuffix;
+        this.concurrency = builder.concurrency;
+        this.ordered = builder.ordered;
+        this.scheduler = builder.scheduler;
+    }
+
+    public static DatasetOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ReadOptions readOptions() {
+        return readOptions;
+    }
+
+    public Map<String, Predicate<String>> partitionValueFilters() {
+        return partitionValueFilters;
+    }
+
+    public Predicate<Map<String, String>> partitionFilter() {
+        return partitionFilter;
+    }
+
+    public String fileSuffix() {
+        return fileSuffix;
+    }
+
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public boolean ordered() {
+        return ordered;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler == null ? Schedulers.boundedElastic() : scheduler;
+    }
+
+    /**
+     * Whether a directory with the given partition key and value may hold selected files.
+     */
+    boolean acceptsPartitionValue(String key, String value) {
+        Predicate<String> filter = partitionValueFilters.get(key);
+        return filter == null || filter.test(value);
+    }
+
+    boolean acceptsPartitions(Map<String, String> partitions) {
+        return partitionFilter == null || partitionFilter.test(partitions);
+    }
+
+    public static class Builder {
+        private ReadOptions readOptions = ReadOptions.defaults();
+        private final Map<String, Predicate<String>> partitionValueFilters = new HashMap<>();
+        private Predicate<Map<String, String>> partitionFilter;
+        private String fileSuffix = ".parquet";
+        private int concurrency = DEFAULT_CONCURRENCY;
+        private boolean ordered = true;
+        private Scheduler scheduler;
+
+        private Builder() {}
+
+        /**
+         * Options used to read each file.
+         */
+        public Builder readOptions(ReadOptions readOptions) {
+            this.readOptions = readOptions;
+            return this;
+        }
+
+        /**
+         * Selects the partitions whose key value matches the predicate. Directories of rejected values are
+         * pruned while listing, so they are never listed nor opened.
+         */
+        public Builder partitionFilter(String key, Predicate<String> valueFilter) {
+            this.partitionValueFilters.merge(key, valueFilter, Predicate::and);
+            return this;
+        }
+
+        /**
+         * Selects the files whose partition values match the predicate, before opening them.
+         */
+        public Builder partitionFilter(Predicate<Map<String, String>> partitionFilter) {
+            this.partitionFilter = this.partitionFilter == null ? partitionFilter : this.partitionFilter.and(partitionFilter);
+            return this;
+        }
+
+        /**
+         * Only files with this suffix are read, ".parquet" by default. Files and directories starting
+         * with "_" or "." (e.g. _SUCCESS, _temporary) are always skipped.
+         */
+        public Builder fileSuffix(String fileSuffix) {
+            this.fileSuffix = fileSuffix;
+            return this;
+        }
+
+        /**
+         * Opens and reads up to concurrency files at once, on the given scheduler. Defaults to
+         * {@value DEFAULT_CONCURRENCY} files on {@link Schedulers#boundedElastic()}.
+         */
+        public Builder concurrency(int concurrency, Scheduler scheduler) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("concurrency must be positive: %d".formatted(concurrency));
+            }
+            this.concurrency = concurrency;
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public Builder concurrency(int concurrency) {
+            return concurrency(concurrency, null);
+        }
+
+        /**
+         * Emits the rows of the files in path order, the default. Otherwise the rows of the files being read are
+         * interleaved as they are decoded.
+         */
+        public Builder ordered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        public DatasetOptions build() {
+            return new DatasetOptions(this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * The rows of one file of a dataset, see {@link ReactParquetReader#readParquetDatasetFiles(String, DatasetOptions)}.
+ * The file is only read when rows is subscribed.
+ */
+public record DatasetPart(DatasetFile file, Flux<Map<String, Object>> rows) {}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.compression.CompressionCodecFactory;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Codec factory shared by the files read, reusing decompressors across row groups and files instead of creating
+ * them for each file. Decompressors aren't thread safe, so each decompression borrows a {@link CodecFactory}, and
+ * the decompressors it caches, from the idle ones, and gives it back once done: there are as many as concurrent
+ * decompressions at most.
+ * <p>
+ * Decompressions are eager, as the decompressor is given back before the page is consumed: pages are decompressed
+ * into the buffers of the caller, or, for the pages returned, read straight from the decompressor into a heap buffer
+ * owned by the page, as nothing releases them. {@link #release()}, called by the readers of each file, does
+ * nothing: the pool lives as long as the process.
+ * <p>
+ * The pool is only installed on read options, which never compress: {@link #getCompressor} is unsupported.
+ */
+final class DecompressorPool implements CompressionCodecFactory {
+
+    private static final DecompressorPool HEAP =
+            new DecompressorPool(() -> new CodecFactory(new PlainParquetConfiguration(), 0));
+    private static final ByteBufferAllocator PAGES = new HeapByteBufferAllocator();
+
+    private final Supplier<CodecFactory> factories;
+    private final Queue<CodecFactory> idle = new ConcurrentLinkedQueue<>();
+    private final Map<CompressionCodecName, BytesInputDecompressor> decompressors = new ConcurrentHashMap<>();
+
+    private DecompressorPool(Supplier<CodecFactory> factories) {
+        this.factories = factories;
+    }
+
+    /**
+     * Decompressors into heap buffers, shared by all readers.
+     */
+    static DecompressorPool heap() {
+        return HEAP;
+    }
+
+    /**
+     * Decompressors into direct buffers taken from the allocator.
+     */
+    static DecompressorPool direct(ByteBufferAllocator allocator) {
+        Configuration configuration = new Configuration();
+        return new DecompressorPool(() -> CodecFactory.createDirectCodecFactory(configuration, allocator, 0));
+    }
+
+    @Override
+    public BytesInputDecompressor getDecompressor(CompressionCodecName codec) {
+        return decompressors.computeIfAbsent(codec, PooledDecompressor::new);
+    }
+
+    @Override
+    public BytesInputCompressor getCompressor(CompressionCodecName codec) {
+        throw new UnsupportedOperationException("Only decompressors are pooled");
+    }
+
+    @Override
+    public void release() {
+        // shared by the files read
+    }
+
+    private CodecFactory borrow() {
+        CodecFactory factory = idle.poll();
+        return factory != null ? factory : factories.get();
+    }
+
+    private final class PooledDecompressor implements BytesInputDecompressor {
+        private final CompressionCodecName codec;
+
+        private PooledDecompressor(CompressionCodecName codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public BytesInput decompress(BytesInput bytes, int uncompressedSize) throws IOException {
+            CodecFactory factory = borrow();
+            try {
+                BytesInput decompressed = factory.getDecompressor(codec).decompress(bytes, uncompressedSize);
+                return BytesInput.from(decompressed.toByteBuffer(PAGES, page -> {}));
+            } finally {
+                idle.offer(factory);
+            }
+        }
+
+        @Override
+        public void decompress(ByteBuffer input, int compressedSize, ByteBuffer output, int uncompressedSize)
+                throws IOException {
+            CodecFactory factory = borrow();
+            try {
+                factory.getDecompressor(codec).decompress(input, compressedSize, output, uncompressedSize);
+            } finally {
+                idle.offer(factory);
+            }
+        }
+
+        @Override
+        public void release() {
+            // given back after each decompression
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import reactor.core.observability.DefaultSignalListener;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Tapped on the flux of a file to count the rows emitted and the time spent with no demand from the subscriber,
+ * reported to {@link ReaderMetrics#rowsEmitted} when the flux terminates.
+ */
+final class DemandMetricsListener<T> extends DefaultSignalListener<T> {
+
+    private final String filePath;
+    private final ReaderMetrics metrics;
+    private final ToLongFunction<T> rowCount;
+    private long rows = 0;
+    private long demand = 0;
+    private long waitStart = 0;
+    private long waitNanos = 0;
+    private boolean reported = false;
+
+    DemandMetricsListener(String filePath, ReaderMetrics metrics, ToLongFunction<T> rowCount) {
+        this.filePath = filePath;
+        this.metrics = metrics;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public synchronized void doOnRequest(long requested) {
+        if (demand == 0 && waitStart != 0) {
+            waitNanos += System.nanoTime() - waitStart;
+            waitStart = 0;
+        }
+        demand = demand + requested < 0 ? Long.MAX_VALUE : demand + requested;
+    }
+
+    @Override
+    public synchronized void doOnNext(T value) {
+        rows += rowCount.applyAsLong(value);
+        if (demand != Long.MAX_VALUE && --demand == 0) {
+            waitStart = System.nanoTime();
+        }
+    }
+
+    // reported before the termination is propagated, so that the metrics are complete once the subscriber sees it
+    @Override
+    public void doOnComplete() {
+        report();
+    }
+
+    @Override
+    public void doOnError(Throwable error) {
+        report();
+    }
+
+    @Override
+    public void doOnCancel() {
+        report();
+    }
+
+    private synchronized void report() {
+        if (!reported) {
+            reported = true;
+            metrics.rowsEmitted(filePath, rows, waitNanos);
+        }
+    }
+}
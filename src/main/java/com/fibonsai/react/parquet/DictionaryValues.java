@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.math.BigDecimal;
+
+/**
+ * Converted values of the dictionary of a column chunk. An entry is converted the first time a row references it
+ * and the same instance is handed out to the following rows, so a low cardinality column decodes each distinct
+ * value once per column chunk instead of once per row.
+ * <p>
+ * Only immutable values are cached, columns converted to primitives or byte arrays are read without it.
+ */
+final class DictionaryValues {
+
+    @FunctionalInterface
+    interface Decoder {
+        Object decode(Dictionary dictionary, int id);
+    }
+
+    private final Decoder decoder;
+    private Dictionary dictionary;
+    private Object[] values;
+
+    DictionaryValues(Decoder decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Called by the column reader with the dictionary of each column chunk.
+     */
+    void set(Dictionary dictionary) {
+        this.dictionary = dictionary;
+        this.values = new Object[dictionary.getMaxId() + 1];
+    }
+
+    Object get(int id) {
+        Object value = values[id];
+        if (value == null) {
+            value = decoder.decode(dictionary, id);
+            values[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Converts the dictionary entries of the column to the values materialized for its {@link ValueType}.
+     */
+    static DictionaryValues of(PrimitiveType column) {
+        int scale = ValueType.scale(column);
+        ValueType valueType = ValueType.of(column);
+        Decoder decoder = switch (valueType) {
+            case DATE -> (dictionary, id) -> ValueType.toLocalDate(dictionary.decodeToInt(id));
+            case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS -> (dictionary, id) ->
+                    ValueType.toLocalDateTime(dictionary.decodeToLong(id), valueType.unitsPerSecond());
+            case INT96_TIMESTAMP -> (dictionary, id) -> ValueType.int96ToLocalDateTime(dictionary.decodeToBinary(id));
+            case DECIMAL -> switch (column.getPrimitiveTypeName()) {
+                case INT32 -> (dictionary, id) -> BigDecimal.valueOf(dictionary.decodeToInt(id), scale);
+                case INT64 -> (dictionary, id) -> BigDecimal.valueOf(dictionary.decodeToLong(id), scale);
+                default -> (dictionary, id) -> ValueType.toBigDecimal(dictionary.decodeToBinary(id), scale);
+            };
+            case STRING -> (dictionary, id) -> dictionary.decodeToBinary(id).toStringUsingUTF8();
+            case UUID -> (dictionary, id) -> ValueType.toUuid(dictionary.decodeToBinary(id));
+            default -> throw new IllegalArgumentException("%s values are not cached: %s".formatted(valueType, column));
+        };
+        return new DictionaryValues(decoder);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import java.util.List;
+
+/**
+ * A subset of the row groups of a file, planned by {@link ParquetUtils#planSplits(String, int, Balance)} and read
+ * with {@link ReactParquetReader#readRowGroups(String, FileSplit)}. Splits only hold plain values, so they can be
+ * sent to other workers.
+ *
+ * @param rowGroups       the indexes of the row groups in the file, in file order
+ * @param rowCount        the number of rows of the row groups
+ * @param compressedBytes the compressed size of the row groups
+ * @param byteRanges      the ranges of the file holding the column chunks of the row groups, adjacent ranges merged
+ */
+public record FileSplit(List<Integer> rowGroups, long rowCount, long compressedBytes, List<ByteRange> byteRanges) {
+
+    public record ByteRange(long offset, long length) {}
+
+    /**
+     * What the splits are balanced on.
+     */
+    public enum Balance {
+        COMPRESSED_BYTES,
+        ROWS
+    }
+}
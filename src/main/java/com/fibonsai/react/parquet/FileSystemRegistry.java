@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of remote FileSystems (and so of their clients and connection pools), keyed by the FileSystem root URI:
+ * scheme, credentials, endpoint and bucket.
+ * <p>
+ * FileSystems are handed out as ref-counted {@link Lease}s and closed once they have had no lease for longer than
+ * the idle timeout. The default FileSystem is never pooled nor closed, see {@link SpiAlternativeUtil}.
+ */
+public class FileSystemRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSystemRegistry.class);
+
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    @FunctionalInterface
+    public interface FileSystemFactory {
+        FileSystem newFileSystem(URI root) throws IOException;
+    }
+
+    private final FileSystemFactory factory;
+    private final long idleTimeoutNanos;
+    private final Map<URI, Entry> entries = new ConcurrentHashMap<>();
+    private final Disposable evictionTask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Idle FileSystems are looked for every idleTimeout / 2, a zero idleTimeout disables the background eviction,
+     * leaving it to {@link #evictIdle()}.
+     */
+    public FileSystemRegistry(FileSystemFactory factory, Duration idleTimeout) {
+        if (idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("idleTimeout is negative: %s".formatted(idleTimeout));
+        }
+        this.factory = factory;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        if (idleTimeout.isZero()) {
+            this.evictionTask = null;
+        } else {
+            long period = Math.max(1, idleTimeout.toMillis() / 2);
+            this.evictionTask = Schedulers.parallel().schedulePeriodically(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Number of lookups served by a pooled FileSystem (hits) or that had to create one (misses), of FileSystems
+     * closed for being idle (evictions), of pooled FileSystems (open) and of leases not yet released (leases).
+     */
+    public record Stats(long hits, long misses, long evictions, int open, int leases) {}
+
+    public Stats stats() {
+        int leases = entries.values().stream().mapToInt(entry -> entry.leases).sum();
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), leases);
+    }
+
+    /**
+     * Leases the FileSystem of root, creating it if there is none or it was closed.
+     */
+    public Lease acquire(URI root) {
+        Entry entry = entries.compute(root, (uri, current) -> {
+            if (current != null && current.fileSystem.isOpen()) {
+                hits.increment();
+                current.leases++;
+                return current;
+            }
+            misses.increment();
+            try {
+                Entry created = new Entry(factory.newFileSystem(uri));
+                created.leases++;
+                return created;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create the FileSystem of %s".formatted(uri), e);
+            }
+        });
+        return new Lease(entry.fileSystem, () -> release(root, entry));
+    }
+
+    private void release(URI root, Entry entry) {
+        entries.computeIfPresent(root, (uri, current) -> {
+            if (current == entry) {
+                current.leases--;
+                current.lastReleased = System.nanoTime();
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Closes the FileSystems without leases that have been idle for longer than the idle timeout.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (URI root : entries.keySet()) {
+            entries.computeIfPresent(root, (uri, entry) -> {
+                if (entry.leases > 0 || now - entry.lastReleased < idleTimeoutNanos) {
+                    return entry;
+                }
+                evictions.increment();
+                closeQuietly(uri, entry.fileSystem);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Stops the eviction task and closes all the pooled FileSystems, leased or not.
+     */
+    @Override
+    public void close() {
+        if (evictionTask != null) {
+            evictionTask.dispose();
+        }
+        for (URI root : entries.keySet()) {
+            entries.computeIfPresent(root, (uri, entry) -> {
+                closeQuietly(uri, entry.fileSystem);
+                return null;
+            });
+        }
+    }
+
+    private static void closeQuietly(URI root, FileSystem fileSystem) {
+        try {
+            fileSystem.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Error closing the FileSystem of {}: {}", root, e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        private final FileSystem fileSystem;
+        private int leases = 0;
+        private long lastReleased = System.nanoTime();
+
+        private Entry(FileSystem fileSystem) {
+            this.fileSystem = fileSystem;
+        }
+    }
+
+    /**
+     * A FileSystem in use. Closing the lease releases the FileSystem, it doesn't close it.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final FileSystem fileSystem;
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Lease(FileSystem fileSystem, Runnable release) {
+            this.fileSystem = fileSystem;
+            this.release = release;
+        }
+
+        /**
+         * A lease of a FileSystem that isn't pooled, such as the default FileSystem.
+         */
+        static Lease unpooled(FileSystem fileSystem) {
+            return new Lease(fileSystem, () -> {});
+        }
+
+        public FileSystem fileSystem() {
+            return fileSystem;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+}
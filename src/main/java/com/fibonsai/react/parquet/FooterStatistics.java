@@ -0,0 +1,452 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers aggregates from the statistics of the footer. A row group whose statistics prove that none or all
+ * of its rows match a filter is resolved without reading it, the others are left to be scanned.
+ */
+final class FooterStatistics {
+
+    private FooterStatistics() {}
+
+    /**
+     * Outcome of an aggregate over the footer: the matching rows and the min and max values of the resolved row
+     * groups, and the row groups and columns to scan to complete it.
+     */
+    record Plan(long rowCount, Object min, Object max, List<Integer> scannedRowGroups, List<String> scannedColumns) {}
+
+    /**
+     * Plans the count of the rows matching the filter, and the min and max of column when it isn't null.
+     */
+    static Plan plan(MessageType schema, List<BlockMetaData> blocks, String column, FilterPredicate filter) {
+        FilterPredicate predicate = filter == null ? null : LogicalInverseRewriter.rewrite(filter);
+        ColumnPath columnPath = column == null ? null : columnPath(schema, column);
+        long rowCount = 0;
+        Object min = null;
+        Object max = null;
+        List<Integer> scanned = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockMetaData block = blocks.get(i);
+            if (predicate != null) {
+                if (StatisticsFilter.canDrop(predicate, block.getColumns())) {
+                    continue;
+                }
+                if (!predicate.accept(new AllRowsMatch(schema, block))) {
+                    scanned.add(i);
+                    continue;
+                }
+            }
+            rowCount += block.getRowCount();
+            if (columnPath == null) {
+                continue;
+            }
+            ColumnChunkMetaData chunk = chunk(block, columnPath);
+            if (chunk == null || allNulls(chunk)) {
+                continue;
+            }
+            if (!hasMinMax(chunk.getStatistics())) {
+                scanned.add(i);
+                continue;
+            }
+            PrimitiveType type = chunk.getPrimitiveType();
+            min = min(min, toValue(chunk.getStatistics().genericGetMin(), type));
+            max = max(max, toValue(chunk.getStatistics().genericGetMax(), type));
+        }
+        Set<String> columns = new LinkedHashSet<>();
+        if (column != null) {
+            columns.add(column);
+        }
+        if (predicate != null) {
+            predicate.accept(new FilterColumns(schema, columns));
+        }
+        return new Plan(rowCount, min, max, List.copyOf(scanned), List.copyOf(columns));
+    }
+
+    /**
+     * Dot separated paths of the columns a predicate reads, in predicate order.
+     */
+    static Set<String> filterColumns(FilterPredicate predicate) {
+        Set<String> columns = new LinkedHashSet<>();
+        predicate.accept(new FilterColumns(null, columns));
+        return columns;
+    }
+
+    /**
+     * Statistics of a column chunk, with its min and max converted to the values read for the column.
+     */
+    static ParquetUtils.ColumnStats columnStats(String path, String type, ColumnChunkMetaData chunk) {
+        Statistics<?> statistics = chunk.getStatistics();
+        Long nullCount = statistics != null && statistics.isNumNullsSet() ? statistics.getNumNulls() : null;
+        Object min = null;
+        Object max = null;
+        if (hasMinMax(statistics)) {
+            min = toValue(statistics.genericGetMin(), chunk.getPrimitiveType());
+            max = toValue(statistics.genericGetMax(), chunk.getPrimitiveType());
+        }
+        return new ParquetUtils.ColumnStats(path, type, chunk.getValueCount(), nullCount, min, max,
+                chunk.getTotalSize(), chunk.getTotalUncompressedSize());
+    }
+
+    /**
+     * Merges the statistics of the chunks of a column. The null count is unknown if any chunk misses it, and
+     * min and max are those of the chunks having them.
+     */
+    static ParquetUtils.ColumnStats merge(ParquetUtils.ColumnStats left, ParquetUtils.ColumnStats right) {
+        if (left == null) {
+            return right;
+        }
+        Long nullCount = left.nullCount() != null && right.nullCount() != null
+                ? left.nullCount() + right.nullCount()
+                : null;
+        return new ParquetUtils.ColumnStats(left.path(), left.type(), left.valueCount() + right.valueCount(),
+                nullCount, min(left.min(), right.min()), max(left.max(), right.max()),
+                left.compressedSize() + right.compressedSize(), left.uncompressedSize() + right.uncompressedSize());
+    }
+
+    /**
+     * Value of a dot separated column path in a row read as nested maps.
+     */
+    static Object value(Map<String, Object> row, String column) {
+        Object value = row;
+        for (String name : column.split("\\.")) {
+            if (!(value instanceof Map<?, ?> map)) {
+                return null;
+            }
+            value = map.get(name);
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object min(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? right : left;
+        }
+        return ((Comparable) left).compareTo(right) <= 0 ? left : right;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object max(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? right : left;
+        }
+        return ((Comparable) left).compareTo(right) >= 0 ? left : right;
+    }
+
+    /**
+     * Converts a statistics value to the value read for the column, see {@link ValueType}.
+     */
+    static Object toValue(Object value, PrimitiveType type) {
+        ValueType valueType = ValueType.of(type);
+        return switch (valueType) {
+            case DATE -> ValueType.toLocalDate((Integer) value);
+            case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS ->
+                    ValueType.toLocalDateTime((Long) value, valueType.unitsPerSecond());
+            case INT96_TIMESTAMP -> ValueType.int96ToLocalDateTime((Binary) value);
+            case DECIMAL -> switch (value) {
+                case Integer unscaled -> BigDecimal.valueOf(unscaled, ValueType.scale(type));
+                case Long unscaled -> BigDecimal.valueOf(unscaled, ValueType.scale(type));
+                default -> ValueType.toBigDecimal((Binary) value, ValueType.scale(type));
+            };
+            case STRING -> ((Binary) value).toStringUsingUTF8();
+            case UUID -> ValueType.toUuid((Binary) value);
+            default -> value;
+        };
+    }
+
+    private static ColumnPath columnPath(MessageType schema, String column) {
+        String[] path = column.split("\\.");
+        if (!schema.containsPath(path) || !schema.getType(path).isPrimitive()) {
+            throw new IllegalArgumentException("Column %s is not a primitive column of schema %s"
+                    .formatted(column, schema.getName()));
+        }
+        if (schema.getColumnDescription(path).getMaxRepetitionLevel() > 0) {
+            throw new IllegalArgumentException("Repeated column %s is not supported".formatted(column));
+        }
+        return ColumnPath.get(path);
+    }
+
+    private static ColumnChunkMetaData chunk(BlockMetaData block, ColumnPath path) {
+        for (ColumnChunkMetaData chunk : block.getColumns()) {
+            if (chunk.getPath().equals(path)) {
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+    private static boolean allNulls(ColumnChunkMetaData chunk) {
+        Statistics<?> statistics = chunk.getStatistics();
+        return statistics != null && statistics.isNumNullsSet() && statistics.getNumNulls() == chunk.getValueCount();
+    }
+
+    private static boolean hasMinMax(Statistics<?> statistics) {
+        return statistics != null && !statistics.isEmpty() && statistics.hasNonNullValue();
+    }
+
+    /**
+     * Whether the statistics of a row group prove that all of its rows match a predicate, with the record filter
+     * semantics: nulls only match eq(null) and notEq. Predicates the statistics can't decide don't match.
+     */
+    private static final class AllRowsMatch implements FilterPredicate.Visitor<Boolean> {
+        private final MessageType schema;
+        private final Map<ColumnPath, ColumnChunkMetaData> chunks = new HashMap<>();
+
+        AllRowsMatch(MessageType schema, BlockMetaData block) {
+            this.schema = schema;
+            for (ColumnChunkMetaData chunk : block.getColumns()) {
+                chunks.put(chunk.getPath(), chunk);
+            }
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Eq<T> eq) {
+            Column column = column(eq.getColumn());
+            if (eq.getValue() == null) {
+                return column.allNulls();
+            }
+            return column.noNulls() && column.compareMin(eq.getValue()) == 0 && column.compareMax(eq.getValue()) == 0;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.NotEq<T> notEq) {
+            Column column = column(notEq.getColumn());
+            if (notEq.getValue() == null) {
+                return column.noNulls();
+            }
+            return column.allNulls() || (column.hasMinMax()
+                    && (column.compareMin(notEq.getValue()) > 0 || column.compareMax(notEq.getValue()) < 0));
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Lt<T> lt) {
+            Column column = column(lt.getColumn());
+            return column.noNulls() && column.compareMax(lt.getValue()) < 0;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.LtEq<T> ltEq) {
+            Column column = column(ltEq.getColumn());
+            return column.noNulls() && column.compareMax(ltEq.getValue()) <= 0;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Gt<T> gt) {
+            Column column = column(gt.getColumn());
+            return column.noNulls() && column.compareMin(gt.getValue()) > 0;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.GtEq<T> gtEq) {
+            Column column = column(gtEq.getColumn());
+            return column.noNulls() && column.compareMin(gtEq.getValue()) >= 0;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.In<T> in) {
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.NotIn<T> notIn) {
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Contains<T> contains) {
+            return false;
+        }
+
+        @Override
+        public Boolean visit(Operators.And and) {
+            return and.getLeft().accept(this) && and.getRight().accept(this);
+        }
+
+        @Override
+        public Boolean visit(Operators.Or or) {
+            return or.getLeft().accept(this) || or.getRight().accept(this);
+        }
+
+        @Override
+        public Boolean visit(Operators.Not not) {
+            // removed by the LogicalInverseRewriter
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(Operators.UserDefined<T, U> udp) {
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(
+                Operators.LogicalNotUserDefined<T, U> udp) {
+            return false;
+        }
+
+        private Column column(Operators.Column<?> column) {
+            ColumnPath path = column.getColumnPath();
+            String[] names = path.toArray();
+            boolean repeated = schema.containsPath(names) && schema.getColumnDescription(names).getMaxRepetitionLevel() > 0;
+            return new Column(chunks.get(path), repeated);
+        }
+    }
+
+    /**
+     * Statistics of a filtered column, a missing column being all nulls. Repeated columns are never resolved,
+     * their statistics describing values rather than rows.
+     */
+    private record Column(ColumnChunkMetaData chunk, boolean repeated) {
+
+        boolean allNulls() {
+            return !repeated && (chunk == null || FooterStatistics.allNulls(chunk));
+        }
+
+        boolean noNulls() {
+            Statistics<?> statistics = chunk == null ? null : chunk.getStatistics();
+            return hasMinMax() && statistics.isNumNullsSet() && statistics.getNumNulls() == 0;
+        }
+
+        boolean hasMinMax() {
+            return !repeated && chunk != null && FooterStatistics.hasMinMax(chunk.getStatistics());
+        }
+
+        /**
+         * Compares the min value to value in the column order, only once {@link #hasMinMax()} is checked.
+         */
+        <T extends Comparable<T>> int compareMin(T value) {
+            Statistics<T> statistics = statistics();
+            return statistics.comparator().compare(statistics.genericGetMin(), value);
+        }
+
+        <T extends Comparable<T>> int compareMax(T value) {
+            Statistics<T> statistics = statistics();
+            return statistics.comparator().compare(statistics.genericGetMax(), value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends Comparable<T>> Statistics<T> statistics() {
+            return (Statistics<T>) chunk.getStatistics();
+        }
+    }
+
+    /**
+     * Collects the dot separated paths of the columns of a predicate that are in the schema, all of them without one.
+     */
+    private record FilterColumns(MessageType schema, Set<String> columns) implements FilterPredicate.Visitor<Void> {
+
+        private Void add(Operators.Column<?> column) {
+            if (schema == null || schema.containsPath(column.getColumnPath().toArray())) {
+                columns.add(column.getColumnPath().toDotString());
+            }
+            return null;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Eq<T> eq) {
+            return add(eq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.NotEq<T> notEq) {
+            return add(notEq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Lt<T> lt) {
+            return add(lt.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.LtEq<T> ltEq) {
+            return add(ltEq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Gt<T> gt) {
+            return add(gt.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.GtEq<T> gtEq) {
+            return add(gtEq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.In<T> in) {
+            return add(in.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.NotIn<T> notIn) {
+            return add(notIn.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Contains<T> contains) {
+            return add(contains.getColumn());
+        }
+
+        @Override
+        public Void visit(Operators.And and) {
+            and.getLeft().accept(this);
+            return and.getRight().accept(this);
+        }
+
+        @Override
+        public Void visit(Operators.Or or) {
+            or.getLeft().accept(this);
+            return or.getRight().accept(this);
+        }
+
+        @Override
+        public Void visit(Operators.Not not) {
+            return not.getPredicate().accept(this);
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(Operators.UserDefined<T, U> udp) {
+            return add(udp.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(
+                Operators.LogicalNotUserDefined<T, U> udp) {
+            return udp.getUserDefined().accept(this);
+        }
+    }
+}
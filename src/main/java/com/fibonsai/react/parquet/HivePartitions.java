@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists the files of a hive partitioned dataset, pruning partition directories while walking the tree.
+ */
+final class HivePartitions {
+
+    private HivePartitions() {}
+
+    static List<DatasetFile> listFiles(Path root, DatasetOptions options) throws IOException {
+        List<DatasetFile> files = new ArrayList<>();
+        if (Files.isDirectory(root)) {
+            listFiles(root, Map.of(), options, files);
+        } else {
+            files.add(new DatasetFile(pathString(root), Map.of()));
+        }
+        return files;
+    }
+
+    private static void listFiles(Path dir, Map<String, String> partitions, DatasetOptions options,
+                                  List<DatasetFile> files) throws IOException {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            stream.forEach(children::add);
+        }
+        Collections.sort(children);
+        for (Path child : children) {
+            String name = fileName(child);
+            if (name.isEmpty() || name.startsWith("_") || name.startsWith(".")) {
+                continue;
+            }
+            if (Files.isDirectory(child)) {
+                int eq = name.indexOf('=');
+                Map<String, String> childPartitions = partitions;
+                if (eq > 0) {
+                    String key = unescape(name.substring(0, eq));
+                    String value = unescape(name.substring(eq + 1));
+                    if (!options.acceptsPartitionValue(key, value)) {
+                        continue;
+                    }
+                    childPartitions = new LinkedHashMap<>(partitions);
+                    childPartitions.put(key, value);
+                }
+                listFiles(child, childPartitions, options, files);
+            } else if (name.endsWith(options.fileSuffix()) && options.acceptsPartitions(partitions)) {
+                files.add(new DatasetFile(pathString(child), Collections.unmodifiableMap(partitions)));
+            }
+        }
+    }
+
+    private static String fileName(Path path) {
+        Path fileName = path.getFileName();
+        if (fileName == null) {
+            return "";
+        }
+        String name = fileName.toString();
+        // directories of remote FileSystems may keep their trailing separator
+        return name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    /**
+     * Paths of the default FileSystem are plain paths, the others URIs, as expected by
+     * {@link SpiAlternativeUtil#acquireFileSystem(String)}.
+     */
+    private static String pathString(Path path) {
+        return path.getFileSystem() == FileSystems.getDefault() ? path.toString() : path.toUri().toString();
+    }
+
+    /**
+     * Decodes the %XX escapes hive uses in partition directory names.
+     */
+    static String unescape(String escaped) {
+        if (escaped.indexOf('%') < 0) {
+            return escaped;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(escaped.length());
+        int i = 0;
+        while (i < escaped.length()) {
+            if (escaped.charAt(i) == '%' && i + 2 < escaped.length()
+                    && isHex(escaped.charAt(i + 1)) && isHex(escaped.charAt(i + 2))) {
+                bytes.write(Integer.parseInt(escaped, i + 1, i + 3, 16));
+                i += 3;
+            } else {
+                int end = i + Character.charCount(escaped.codePointAt(i));
+                bytes.writeBytes(escaped.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                i = end;
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isHex(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converters materializing parquet records into Map&lt;String, Object&gt;.
+ * The value type of every column is resolved once per schema and the compiled schema is cached, so
+ * the converters created from it don't inspect the logical types while reading values.
+ */
+final class MapConverters {
+
+    private static final int MAX_CACHED_SCHEMAS = 128;
+
+    private static final Map<MessageType, CompiledSchema> compiledSchemas = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MessageType, CompiledSchema> eldest) {
+                    return size() > MAX_CACHED_SCHEMAS;
+                }
+            });
+
+    private MapConverters() {}
+
+    static CompiledSchema compile(MessageType schema) {
+        return compiledSchemas.computeIfAbsent(schema, CompiledSchema::new);
+    }
+
+    /**
+     * Field of a compiled schema. Groups have children, primitives have a column type and a value type.
+     */
+    record FieldPlan(String name, PrimitiveType column, ValueType valueType, int scale, List<FieldPlan> children) {
+
+        static FieldPlan of(Type field) {
+            if (field.isPrimitive()) {
+                PrimitiveType primitiveType = field.asPrimitiveType();
+                return new FieldPlan(field.getName(), primitiveType, ValueType.of(primitiveType), ValueType.scale(primitiveType),
+                        null);
+            }
+            return new FieldPlan(field.getName(), null, null, 0, plan(field.asGroupType()));
+        }
+
+        static List<FieldPlan> plan(GroupType groupType) {
+            List<FieldPlan> fields = new ArrayList<>(groupType.getFieldCount());
+            for (Type field : groupType.getFields()) {
+                fields.add(of(field));
+            }
+            return List.copyOf(fields);
+        }
+
+        boolean isGroup() {
+            return children != null;
+        }
+    }
+
+    static final class CompiledSchema {
+        private final MessageType schema;
+        private final List<FieldPlan> fields;
+
+        private CompiledSchema(MessageType schema) {
+            this.schema = schema;
+            this.fields = FieldPlan.plan(schema);
+        }
+
+        MessageType schema() {
+            return schema;
+        }
+
+        List<FieldPlan> fields() {
+            return fields;
+        }
+
+        MapRecordMaterializer newMaterializer() {
+            return new MapRecordMaterializer(fields);
+        }
+    }
+
+    static final class MapRecordMaterializer extends RecordMaterializer<Map<String, Object>> {
+        private final MapGroupConverter rootConverter;
+
+        private MapRecordMaterializer(List<FieldPlan> fields) {
+            this.rootConverter = new MapGroupConverter(fields);
+        }
+
+        @Override
+        public Map<String, Object> getCurrentRecord() {
+            return rootConverter.getCurrentRecord();
+        }
+
+        @Override
+        public GroupConverter getRootConverter() {
+            return rootConverter;
+        }
+    }
+
+    private static Converter[] createConverters(List<FieldPlan> fields, Map<String, Object> record) {
+        Converter[] converters = new Converter[fields.size()];
+        for (int i = 0; i < converters.length; i++) {
+            converters[i] = createConverter(fields.get(i), record);
+        }
+        return converters;
+    }
+
+    private static Converter createConverter(FieldPlan field, Map<String, Object> record) {
+        if (field.isGroup()) {
+            return new MapNestedGroupConverter(field.name(), field.children(), record);
+        }
+        String name = field.name();
+        return switch (field.valueType()) {
+            case BOOLEAN -> new BooleanConverter(name, record);
+            case INT32 -> new IntConverter(name, record);
+            case INT64 -> new LongConverter(name, record);
+            case FLOAT -> new FloatConverter(name, record);
+            case DOUBLE -> new DoubleConverter(name, record);
+            case DATE -> new DateConverter(name, record, field.column());
+            case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS ->
+                    new TimestampConverter(name, record, field.column(), field.valueType().unitsPerSecond());
+            case INT96_TIMESTAMP -> new Int96TimestampConverter(name, record, field.column());
+            case DECIMAL -> new DecimalConverter(name, record, field.column(), field.scale());
+            case STRING -> new StringConverter(name, record, field.column());
+            case UUID -> new UuidConverter(name, record, field.column());
+        };
+    }
+
+    private static class MapGroupConverter extends GroupConverter {
+        private final Map<String, Object> currentRecord;
+        private final Converter[] converters;
+
+        MapGroupConverter(List<FieldPlan> fields) {
+            this.currentRecord = new HashMap<>();
+            this.converters = createConverters(fields, currentRecord);
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+            currentRecord.clear();
+        }
+
+        @Override
+        public void end() {
+            // Record is complete
+        }
+
+        Map<String, Object> getCurrentRecord() {
+            return new HashMap<>(currentRecord);
+        }
+    }
+
+    private static class MapNestedGroupConverter extends GroupConverter {
+        private final String fieldName;
+        private final Map<String, Object> parentRecord;
+        private final Map<String, Object> nestedRecord;
+        private final Converter[] converters;
+
+        MapNestedGroupConverter(String fieldName, List<FieldPlan> fields, Map<String, Object> parentRecord) {
+            this.fieldName = fieldName;
+            this.parentRecord = parentRecord;
+            this.nestedRecord = new HashMap<>();
+            this.converters = createConverters(fields, nestedRecord);
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+            nestedRecord.clear();
+        }
+
+        @Override
+        public void end() {
+            parentRecord.put(fieldName, new HashMap<>(nestedRecord));
+        }
+    }
+
+    private abstract static class FieldConverter extends PrimitiveConverter {
+        protected final String fieldName;
+        protected final Map<String, Object> record;
+
+        FieldConverter(String fieldName, Map<String, Object> record) {
+            this.fieldName = fieldName;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Converter of the columns materialized as objects, reusing the converted values of dictionary encoded pages.
+     */
+    private abstract static class DictionaryConverter extends FieldConverter {
+        private final DictionaryValues dictionaryValues;
+
+        DictionaryConverter(String fieldName, Map<String, Object> record, PrimitiveType column) {
+            super(fieldName, record);
+            this.dictionaryValues = DictionaryValues.of(column);
+        }
+
+        @Override
+        public boolean hasDictionarySupport() {
+            return true;
+        }
+
+        @Override
+        public void setDictionary(Dictionary dictionary) {
+            dictionaryValues.set(dictionary);
+        }
+
+        @Override
+        public void addValueFromDictionary(int dictionaryId) {
+            record.put(fieldName, dictionaryValues.get(dictionaryId));
+        }
+    }
+
+    private static final class BooleanConverter extends FieldConverter {
+        BooleanConverter(String fieldName, Map<String, Object> record) {
+            super(fieldName, record);
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+            record.put(fieldName, value);
+        }
+    }
+
+    private static final class IntConverter extends FieldConverter {
+        IntConverter(String fieldName, Map<String, Object> record) {
+            super(fieldName, record);
+        }
+
+        @Override
+        public void addInt(int value) {
+            record.put(fieldName, value);
+        }
+    }
+
+    private static final class LongConverter extends FieldConverter {
+        LongConverter(String fieldName, Map<String, Object> record) {
+            super(fieldName, record);
+        }
+
+        @Override
+        public void addLong(long value) {
+            record.put(fieldName, value);
+        }
+    }
+
+    private static final class FloatConverter extends FieldConverter {
+        FloatConverter(String fieldName, Map<String, Object> record) {
+            super(fieldName, record);
+        }
+
+        @Override
+        public void addFloat(float value) {
+            record.put(fieldName, value);
+        }
+    }
+
+    private static final class DoubleConverter extends FieldConverter {
+        DoubleConverter(String fieldName, Map<String, Object> record) {
+            super(fieldName, record);
+        }
+
+        @Override
+        public void addDouble(double value) {
+            record.put(fieldName, value);
+        }
+    }
+
+    private static final class DateConverter extends DictionaryConverter {
+        DateConverter(String fieldName, Map<String, Object> record, PrimitiveType column) {
+            super(fieldName, record, column);
+        }
+
+        @Override
+        public void addInt(int value) {
+            // days since epoch
+            record.put(fieldName, ValueType.toLocalDate(value));
+        }
+    }
+
+    private static final class TimestampConverter extends DictionaryConverter {
+        private final long unitsPerSecond;
+
+        TimestampConverter(String fieldName, Map<String, Object> record, PrimitiveType column, long unitsPerSecond) {
+            super(fieldName, record, column);
+            this.unitsPerSecond = unitsPerSecond;
+        }
+
+        @Override
+        public void addLong(long value) {
+            record.put(fieldName, ValueType.toLocalDateTime(value, unitsPerSecond));
+        }
+    }
+
+    private static final class Int96TimestampConverter extends DictionaryConverter {
+        Int96TimestampConverter(String fieldName, Map<String, Object> record, PrimitiveType column) {
+            super(fieldName, record, column);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            record.put(fieldName, ValueType.int96ToLocalDateTime(value));
+        }
+    }
+
+    private static final class DecimalConverter extends DictionaryConverter {
+        private final int scale;
+
+        DecimalConverter(String fieldName, Map<String, Object> record, PrimitiveType column, int scale) {
+            super(fieldName, record, column);
+            this.scale = scale;
+        }
+
+        @Override
+        public void addInt(int value) {
+            record.put(fieldName, BigDecimal.valueOf(value, scale));
+        }
+
+        @Override
+        public void addLong(long value) {
+            record.put(fieldName, BigDecimal.valueOf(value, scale));
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            record.put(fieldName, ValueType.toBigDecimal(value, scale));
+        }
+    }
+
+    private static final class StringConverter extends DictionaryConverter {
+        StringConverter(String fieldName, Map<String, Object> record, PrimitiveType column) {
+            super(fieldName, record, column);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            record.put(fieldName, value.toStringUsingUTF8());
+        }
+    }
+
+    private static final class UuidConverter extends DictionaryConverter {
+        UuidConverter(String fieldName, Map<String, Object> record, PrimitiveType column) {
+            super(fieldName, record, column);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            record.put(fieldName, ValueType.toUuid(value));
+        }
+    }
+}
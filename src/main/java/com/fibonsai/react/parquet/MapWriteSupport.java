@@ -0,0 +1,293 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes Map rows keyed by field name. Values are the Java types {@link MapConverters} reads: nested groups are
+ * Maps, and logical types are written from LocalDate, LocalDateTime (UTC, or Instant), BigDecimal, String and UUID
+ * values. Repeated fields and LIST annotated groups are written from Lists, MAP annotated groups from Maps. The
+ * field writers are resolved once per schema.
+ */
+final class MapWriteSupport extends WriteSupport<Map<String, Object>> {
+
+    private final MessageType schema;
+    private final Map<String, String> extraMetadata;
+    private final GroupWriter root;
+    private RecordConsumer recordConsumer;
+
+    MapWriteSupport(MessageType schema, Map<String, String> extraMetadata) {
+        this.schema = schema;
+        this.extraMetadata = extraMetadata;
+        this.root = new GroupWriter(schema);
+    }
+
+    // required override, the writer initializes with the ParquetConfiguration overload
+    @SuppressWarnings("deprecation")
+    @Override
+    public WriteContext init(Configuration configuration) {
+        return new WriteContext(schema, extraMetadata);
+    }
+
+    @Override
+    public WriteContext init(ParquetConfiguration configuration) {
+        return new WriteContext(schema, extraMetadata);
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        this.recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void write(Map<String, Object> record) {
+        recordConsumer.startMessage();
+        root.writeFields(recordConsumer, record);
+        recordConsumer.endMessage();
+    }
+
+    @Override
+    public String getName() {
+        return "react-parquet-map";
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(RecordConsumer recordConsumer, Object value);
+    }
+
+    private record FieldWriter(String name, int index, Type.Repetition repetition, ValueWriter writer) {
+
+        void write(RecordConsumer recordConsumer, Object value) {
+            if (value == null) {
+                if (repetition == Type.Repetition.REQUIRED) {
+                    throw new IllegalArgumentException("Required field %s is null".formatted(name));
+                }
+                return;
+            }
+            if (repetition == Type.Repetition.REPEATED) {
+                List<?> values = asList(name, value);
+                if (values.isEmpty()) {
+                    return;
+                }
+                recordConsumer.startField(name, index);
+                for (Object element : values) {
+                    if (element == null) {
+                        throw new IllegalArgumentException("Repeated field %s has a null element".formatted(name));
+                    }
+                    writeValue(recordConsumer, element);
+                }
+                recordConsumer.endField(name, index);
+            } else {
+                recordConsumer.startField(name, index);
+                writeValue(recordConsumer, value);
+                recordConsumer.endField(name, index);
+            }
+        }
+
+        private void writeValue(RecordConsumer recordConsumer, Object value) {
+            try {
+                writer.write(recordConsumer, value);
+            } catch (ClassCastException | ArithmeticException e) {
+                throw new IllegalArgumentException("Cannot write %s value %s to field %s"
+                        .formatted(value.getClass().getSimpleName(), value, name), e);
+            }
+        }
+    }
+
+    private static final class GroupWriter {
+
+        private final FieldWriter[] fields;
+
+        private GroupWriter(GroupType group) {
+            List<Type> types = group.getFields();
+            fields = new FieldWriter[types.size()];
+            for (int i = 0; i < fields.length; i++) {
+                Type type = types.get(i);
+                fields[i] = new FieldWriter(type.getName(), i, type.getRepetition(), valueWriter(type));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void writeFields(RecordConsumer recordConsumer, Object value) {
+            Map<String, Object> map = (Map<String, Object>) value;
+            for (FieldWriter field : fields) {
+                field.write(recordConsumer, map.get(field.name()));
+            }
+        }
+
+        void writeGroup(RecordConsumer recordConsumer, Object value) {
+            recordConsumer.startGroup();
+            writeFields(recordConsumer, value);
+            recordConsumer.endGroup();
+        }
+    }
+
+    private static ValueWriter valueWriter(Type type) {
+        if (type.isPrimitive()) {
+            return primitiveWriter(type.asPrimitiveType());
+        }
+        GroupType group = type.asGroupType();
+        LogicalTypeAnnotation logicalType = group.getLogicalTypeAnnotation();
+        if (logicalType instanceof LogicalTypeAnnotation.ListLogicalTypeAnnotation && isThreeLevel(group)) {
+            // group (LIST) { repeated group list { element } }, written from a List
+            GroupWriter listWriter = new GroupWriter(group);
+            String repeatedName = group.getType(0).getName();
+            String elementName = group.getType(0).asGroupType().getType(0).getName();
+            return (recordConsumer, value) -> {
+                List<?> elements = asList(group.getName(), value);
+                List<Map<String, Object>> entries = new ArrayList<>(elements.size());
+                for (Object element : elements) {
+                    entries.add(element == null ? Map.of() : Map.of(elementName, element));
+                }
+                listWriter.writeGroup(recordConsumer, Map.of(repeatedName, entries));
+            };
+        }
+        if ((logicalType instanceof LogicalTypeAnnotation.MapLogicalTypeAnnotation
+                || logicalType instanceof LogicalTypeAnnotation.MapKeyValueTypeAnnotation) && isThreeLevel(group)) {
+            // group (MAP) { repeated group key_value { key; value } }, written from a Map
+            GroupWriter mapWriter = new GroupWriter(group);
+            GroupType keyValue = group.getType(0).asGroupType();
+            String keyName = keyValue.getType(0).getName();
+            String valueName = keyValue.getFieldCount() > 1 ? keyValue.getType(1).getName() : null;
+            return (recordConsumer, value) -> {
+                Map<?, ?> map = (Map<?, ?>) value;
+                List<Map<String, Object>> entries = new ArrayList<>(map.size());
+                map.forEach((k, v) -> {
+                    Map<String, Object> entry = new HashMap<>(2);
+                    entry.put(keyName, k);
+                    if (valueName != null) {
+                        entry.put(valueName, v);
+                    }
+                    entries.add(entry);
+                });
+                mapWriter.writeGroup(recordConsumer, Map.of(keyValue.getName(), entries));
+            };
+        }
+        GroupWriter groupWriter = new GroupWriter(group);
+        return groupWriter::writeGroup;
+    }
+
+    private static boolean isThreeLevel(GroupType group) {
+        return group.getFieldCount() == 1
+                && group.getType(0).isRepetition(Type.Repetition.REPEATED)
+                && !group.getType(0).isPrimitive();
+    }
+
+    private static ValueWriter primitiveWriter(PrimitiveType type) {
+        ValueType valueType = ValueType.of(type);
+        return switch (valueType) {
+            case BOOLEAN -> (rc, value) -> rc.addBoolean((Boolean) value);
+            case INT32 -> (rc, value) -> rc.addInteger(((Number) value).intValue());
+            case INT64 -> (rc, value) -> rc.addLong(((Number) value).longValue());
+            case FLOAT -> (rc, value) -> rc.addFloat(((Number) value).floatValue());
+            case DOUBLE -> (rc, value) -> rc.addDouble(((Number) value).doubleValue());
+            case DATE -> (rc, value) -> rc.addInteger(value instanceof LocalDate date
+                    ? Math.toIntExact(date.toEpochDay())
+                    : ((Number) value).intValue());
+            case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS -> {
+                long unitsPerSecond = valueType.unitsPerSecond();
+                yield (rc, value) -> rc.addLong(switch (value) {
+                    case LocalDateTime dateTime -> ValueType.toEpochUnits(dateTime, unitsPerSecond);
+                    case Instant instant -> ValueType.toEpochUnits(LocalDateTime.ofInstant(instant, ZoneOffset.UTC), unitsPerSecond);
+                    default -> ((Number) value).longValue();
+                });
+            }
+            case INT96_TIMESTAMP -> (rc, value) -> rc.addBinary(switch (value) {
+                case LocalDateTime dateTime -> ValueType.toInt96(dateTime);
+                case Instant instant -> ValueType.toInt96(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+                default -> (Binary) value;
+            });
+            case DECIMAL -> decimalWriter(type, ValueType.scale(type));
+            case STRING -> (rc, value) -> rc.addBinary(toBinary(value));
+            case UUID -> (rc, value) -> rc.addBinary(value instanceof UUID uuid ? ValueType.toBinary(uuid) : toBinary(value));
+        };
+    }
+
+    private static ValueWriter decimalWriter(PrimitiveType type, int scale) {
+        return switch (type.getPrimitiveTypeName()) {
+            case INT32 -> (rc, value) -> rc.addInteger(unscaled(value, scale).unscaledValue().intValueExact());
+            case INT64 -> (rc, value) -> rc.addLong(unscaled(value, scale).unscaledValue().longValueExact());
+            case FIXED_LEN_BYTE_ARRAY -> {
+                int length = type.getTypeLength();
+                yield (rc, value) -> {
+                    byte[] bytes = unscaled(value, scale).unscaledValue().toByteArray();
+                    if (bytes.length > length) {
+                        throw new ArithmeticException("%s doesn't fit in %d bytes".formatted(value, length));
+                    }
+                    // sign extends to the fixed length
+                    byte[] fixed = new byte[length];
+                    Arrays.fill(fixed, 0, length - bytes.length, bytes[0] < 0 ? (byte) -1 : 0);
+                    System.arraycopy(bytes, 0, fixed, length - bytes.length, bytes.length);
+                    rc.addBinary(Binary.fromConstantByteArray(fixed));
+                };
+            }
+            default -> (rc, value) -> rc.addBinary(
+                    Binary.fromConstantByteArray(unscaled(value, scale).unscaledValue().toByteArray()));
+        };
+    }
+
+    private static BigDecimal unscaled(Object value, int scale) {
+        BigDecimal decimal = value instanceof BigDecimal bigDecimal ? bigDecimal : new BigDecimal(value.toString());
+        return decimal.setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    private static Binary toBinary(Object value) {
+        return switch (value) {
+            case String string -> Binary.fromString(string);
+            case byte[] bytes -> Binary.fromConstantByteArray(bytes);
+            case ByteBuffer buffer -> Binary.fromConstantByteBuffer(buffer);
+            default -> (Binary) value;
+        };
+    }
+
+    private static List<?> asList(String name, Object value) {
+        return switch (value) {
+            case List<?> list -> list;
+            case Iterable<?> iterable -> {
+                List<Object> list = new ArrayList<>();
+                iterable.forEach(list::add);
+                yield list;
+            }
+            case Object[] array -> Arrays.asList(array);
+            default -> throw new IllegalArgumentException("Field %s expects a List, got %s"
+                    .formatted(name, value.getClass().getSimpleName()));
+        };
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.ParquetFileRange;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link InputFile} reading a local file through memory mapping, so reads served from the page cache
+ * cost no system call. Files larger than 1 GiB are mapped in segments.
+ * <p>
+ * Only usable with the default FileSystem, opted into by {@link ReadOptions.Builder#memoryMapping(boolean)}, see
+ * {@link NioInputFile#forPath(Path, ReadOptions)}. The mapping is released
+ * when the instance is garbage collected.
+ */
+public class MappedNioInputFile implements InputFile {
+
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final Path path;
+    private final int segmentSize;
+    private volatile MappedByteBuffer[] segments;
+    private long length = -1;
+    private final LongAdder logicalReads = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+
+    public MappedNioInputFile(Path file) {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    MappedNioInputFile(Path file, int segmentSize) {
+        this.path = file;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Counts of the reads made by all the streams of this file. Memory mapped reads make no channel reads.
+     */
+    public NioInputFile.Stats stats() {
+        return new NioInputFile.Stats(logicalReads.sum(), 0, bytesRead.sum());
+    }
+
+    @Override
+    public long getLength() throws IOException {
+        map();
+        return length;
+    }
+
+    private MappedByteBuffer[] map() throws IOException {
+        MappedByteBuffer[] mapped = segments;
+        if (mapped == null) {
+            synchronized (this) {
+                mapped = segments;
+                if (mapped == null) {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        long size = channel.size();
+                        int count = (int) ((size + segmentSize - 1) / segmentSize);
+                        mapped = new MappedByteBuffer[count];
+                        for (int i = 0; i < count; i++) {
+                            long position = (long) i * segmentSize;
+                            mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position));
+                        }
+                        length = size;
+                    }
+                    segments = mapped;
+                }
+            }
+        }
+        return mapped;
+    }
+
+    @Override
+    public SeekableInputStream newStream() throws IOException {
+        final MappedByteBuffer[] mapped = map();
+        final long fileLength = length;
+
+        return new SeekableInputStream() {
+
+            private long position = 0;
+
+            @Override
+            public int read() {
+                if (position >= fileLength) {
+                    return -1;
+                }
+                int value = mapped[(int) (position / segmentSize)].get((int) (position % segmentSize)) & 0xFF;
+                position++;
+                return value;
+            }
+
+            @Override
+            public int read(byte[] bytes, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (position >= fileLength) {
+                    return -1;
+                }
+                int toRead = (int) Math.min(len, fileLength - position);
+                copy(position, ByteBuffer.wrap(bytes, off, toRead));
+                position += toRead;
+                return toRead;
+            }
+
+            @Override
+            public long skip(long n) {
+                long skipped = Math.max(0, Math.min(n, fileLength - position));
+                position += skipped;
+                return skipped;
+            }
+
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, fileLength - position);
+            }
+
+            @Override
+            public long getPos() {
+                return position;
+            }
+
+            @Override
+            public void seek(long newPos) throws IOException {
+                if (newPos < 0 || newPos > fileLength) {
+                    throw new EOFException("Seek to %d out of %s of length %d".formatted(newPos, path, fileLength));
+                }
+                position = newPos;
+            }
+
+            @Override
+            public void readFully(byte[] bytes) throws IOException {
+                readFully(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void readFully(byte[] bytes, int start, int len) throws IOException {
+                readFully(ByteBuffer.wrap(bytes, start, len));
+            }
+
+            @Override
+            public int read(ByteBuffer buf) {
+                if (!buf.hasRemaining()) {
+                    return 0;
+                }
+                if (position >= fileLength) {
+                    return -1;
+                }
+                int toRead = (int) Math.min(buf.remaining(), fileLength - position);
+                int limit = buf.limit();
+                buf.limit(buf.position() + toRead);
+                copy(position, buf);
+                buf.limit(limit);
+                position += toRead;
+                return toRead;
+            }
+
+            @Override
+            public void readFully(ByteBuffer buf) throws IOException {
+                if (buf.remaining() > fileLength - position) {
+                    throw new EOFException("Reached the end of %s reading %d bytes at %d".formatted(path, buf.remaining(), position));
+                }
+                read(buf);
+            }
+
+            @Override
+            public boolean readVectoredAvailable(ByteBufferAllocator allocator) {
+                return true;
+            }
+
+            @Override
+            public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) {
+                for (ParquetFileRange range : ranges) {
+                    range.setDataReadFuture(CompletableFuture.completedFuture(slice(range.getOffset(), range.getLength())));
+                }
+            }
+
+            @Override
+            public void close() {
+                // the mapping is shared by all streams of the file
+            }
+
+            /**
+             * Copies buf.remaining() bytes starting at the given file position.
+             */
+            private void copy(long from, ByteBuffer buf) {
+                logicalReads.increment();
+                bytesRead.add(buf.remaining());
+                while (buf.hasRemaining()) {
+                    MappedByteBuffer segment = mapped[(int) (from / segmentSize)];
+                    int offset = (int) (from % segmentSize);
+                    int len = Math.min(buf.remaining(), segment.limit() - offset);
+                    buf.put(buf.position(), segment, offset, len);
+                    buf.position(buf.position() + len);
+                    from += len;
+                }
+            }
+
+            /**
+             * Returns the range as a slice of the mapping, or a copy when it spans two segments.
+             */
+            private ByteBuffer slice(long from, int len) {
+                int index = (int) (from / segmentSize);
+                int offset = (int) (from % segmentSize);
+                if (offset + len <= mapped[index].limit()) {
+                    logicalReads.increment();
+                    bytesRead.add(len);
+                    return mapped[index].slice(offset, len);
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(len);
+                copy(from, buffer);
+                return buffer.flip();
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the bytes of the row groups held in memory by the readers sharing it, see
+ * {@link ReadOptions.Builder#memoryBudget}.
+ * <p>
+ * A reader reserves the bytes of a row group before fetching it and releases them once the row group is decoded,
+ * so that a row group is fetched only when the budget has room for it: readers wait, on the threads fetching
+ * row groups, instead of allocating past the budget. A row group larger than the whole budget waits for the
+ * budget to be entirely free. Readers whose subscriber has no demand left give their reservations back until
+ * requested again, so that readers consumed together, zipped or concatenated, never wait for each other: the
+ * budget bounds the row groups of the readers being read, and those resumed may take it past its max.
+ * Reservations are estimates.
+ */
+public final class MemoryBudget {
+
+    private static final MemoryBudget SHARED = new MemoryBudget(Runtime.getRuntime().maxMemory() / 4);
+
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private long usedBytes = 0;
+
+    public MemoryBudget(long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be positive: %d".formatted(maxBytes));
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The budget shared by the readers of the process, a quarter of the max heap.
+     */
+    public static MemoryBudget shared() {
+        return SHARED;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves bytes, waiting until the budget has room for them.
+     */
+    Reservation reserve(long bytes) throws InterruptedIOException {
+        long reserved = Math.min(Math.max(bytes, 0), maxBytes);
+        lock.lock();
+        try {
+            while (usedBytes + reserved > maxBytes) {
+                released.await();
+            }
+            usedBytes += reserved;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for %d bytes of memory budget".formatted(reserved));
+        } finally {
+            lock.unlock();
+        }
+        return new Reservation(reserved);
+    }
+
+    /**
+     * Bytes reserved from the budget, released once closed. A reservation can be suspended, giving its bytes back
+     * to the budget until resumed, which takes them again without waiting. Guarded by the lock of the budget, as
+     * reservations are suspended by virtual threads which monitors would pin.
+     */
+    final class Reservation implements AutoCloseable {
+        private final long bytes;
+        private boolean suspended = false;
+        private boolean closed = false;
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        void suspend() {
+            lock.lock();
+            try {
+                if (!closed && !suspended) {
+                    suspended = true;
+                    usedBytes -= bytes;
+                    released.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void resume() {
+            lock.lock();
+            try {
+                if (!closed && suspended) {
+                    suspended = false;
+                    usedBytes += bytes;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    if (!suspended) {
+                        usedBytes -= bytes;
+                        released.signalAll();
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
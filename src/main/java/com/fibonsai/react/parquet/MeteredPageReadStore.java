@@ -0,0 +1,132 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+
+/**
+ * Counts the pages read from a row group and times their decompression, which happens as they are read, then
+ * reports them to the {@link ReaderMetrics} once the row group is decoded. Only used when metrics are enabled.
+ */
+final class MeteredPageReadStore implements PageReadStore {
+
+    private final PageReadStore delegate;
+    private final String filePath;
+    private final ReaderMetrics metrics;
+    private final Map<ColumnDescriptor, MeteredPageReader> readers = new LinkedHashMap<>();
+    private boolean reported = false;
+
+    MeteredPageReadStore(PageReadStore delegate, String filePath, ReaderMetrics metrics) {
+        this.delegate = delegate;
+        this.filePath = filePath;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PageReader getPageReader(ColumnDescriptor descriptor) {
+        return readers.computeIfAbsent(descriptor, column -> new MeteredPageReader(delegate.getPageReader(column)));
+    }
+
+    @Override
+    public long getRowCount() {
+        return delegate.getRowCount();
+    }
+
+    @Override
+    public Optional<Long> getRowIndexOffset() {
+        return delegate.getRowIndexOffset();
+    }
+
+    @Override
+    public Optional<PrimitiveIterator.OfLong> getRowIndexes() {
+        return delegate.getRowIndexes();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * Adds to the decode time of a column, for columnar reads.
+     */
+    void columnDecoded(ColumnDescriptor column, long nanos) {
+        MeteredPageReader reader = readers.get(column);
+        if (reader != null) {
+            reader.decodeNanos += nanos;
+        }
+    }
+
+    /**
+     * Reports the row group once, after its rowCount rows were decoded in decodeNanos.
+     */
+    void report(long rowCount, long decodeNanos, boolean columnar) {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        readers.forEach((column, reader) -> metrics.columnRead(filePath, column, reader.pages, reader.decompressNanos,
+                columnar ? reader.decodeNanos : -1));
+        metrics.rowGroupDecoded(filePath, rowCount, decodeNanos);
+    }
+
+    private static final class MeteredPageReader implements PageReader {
+
+        private final PageReader delegate;
+        private int pages = 0;
+        private long decompressNanos = 0;
+        private long decodeNanos = 0;
+
+        private MeteredPageReader(PageReader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public DictionaryPage readDictionaryPage() {
+            long start = System.nanoTime();
+            DictionaryPage page = delegate.readDictionaryPage();
+            if (page != null) {
+                decompressNanos += System.nanoTime() - start;
+                pages++;
+            }
+            return page;
+        }
+
+        @Override
+        public long getTotalValueCount() {
+            return delegate.getTotalValueCount();
+        }
+
+        @Override
+        public DataPage readPage() {
+            long start = System.nanoTime();
+            DataPage page = delegate.readPage();
+            if (page != null) {
+                decompressNanos += System.nanoTime() - start;
+                pages++;
+            }
+            return page;
+        }
+    }
+}
@@ -14,14 +14,26 @@
 
 package com.fibonsai.react.parquet;
 
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.ParquetFileRange;
 import org.apache.parquet.io.SeekableInputStream;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
 
 // @Ref: https://blakesmith.me/2024/10/05/how-to-use-parquet-java-without-hadoop.html
 
@@ -31,13 +43,63 @@ import java.nio.file.Path;
  * upstream parquet-mr currently falls back to the old-school java file I/O APIs
  * (via Path#toFile) which won't work with nio remote FileSystems such as an S3
  * FileSystem implementation.
+ * <p>
+ * Vectored reads are supported: ranges closer than maxMergeGap are merged into a single read of up to
+ * maxMergedSize bytes, and the merged ranges are read concurrently, each on its own channel.
+ * <p>
+ * Streams read ahead readAheadSize bytes at a time, see {@link #stats()} to tune it.
  */
 public class NioInputFile implements InputFile {
+
+    public static final int DEFAULT_READ_AHEAD_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAX_MERGE_GAP = 256 * 1024;
+    public static final int DEFAULT_MAX_MERGED_SIZE = 32 * 1024 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENT_READS = 8;
+
+    private static final ExecutorService vectoredReadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
     private final Path path;
+    private final int readAheadSize;
+    private final int maxMergeGap;
+    private final int maxMergedSize;
+    private final Semaphore concurrentReads;
+    private final LongAdder logicalReads = new LongAdder();
+    private final LongAdder channelReads = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
     private long length = -1;
 
     public NioInputFile(Path file) {
+        this(file, DEFAULT_READ_AHEAD_SIZE);
+    }
+
+    public NioInputFile(Path file, int readAheadSize) {
+        this(file, readAheadSize, DEFAULT_MAX_MERGE_GAP, DEFAULT_MAX_MERGED_SIZE, DEFAULT_MAX_CONCURRENT_READS);
+    }
+
+    public NioInputFile(Path file, int readAheadSize, int maxMergeGap, int maxMergedSize, int maxConcurrentReads) {
+        if (readAheadSize < 1) {
+            throw new IllegalArgumentException("readAheadSize must be positive: %d".formatted(readAheadSize));
+        }
         path = file;
+        this.readAheadSize = readAheadSize;
+        this.maxMergeGap = maxMergeGap;
+        this.maxMergedSize = maxMergedSize;
+        this.concurrentReads = new Semaphore(maxConcurrentReads);
+    }
+
+    /**
+     * Returns the input file the readers open path with by default, a NioInputFile.
+     */
+    public static InputFile forPath(Path path) {
+        return forPath(path, ReadOptions.defaults());
+    }
+
+    /**
+     * Returns the input file the readers open path with under the options: a {@link MappedNioInputFile} for files
+     * of the default FileSystem with {@link ReadOptions.Builder#memoryMapping(boolean)}, a NioInputFile otherwise.
+     */
+    public static InputFile forPath(Path path, ReadOptions options) {
+        return options.newInputFile(path);
     }
 
     @Override
@@ -50,68 +112,243 @@ public class NioInputFile implements InputFile {
 
     @Override
     public SeekableInputStream newStream() throws IOException {
+        return new BufferedChannelStream(Files.newByteChannel(path));
+    }
+
+    /**
+     * Counters of the reads made on the streams of this file. logicalReads counts the read calls made by
+     * parquet, channelReads the reads actually issued on a channel, vectored reads included.
+     */
+    public record Stats(long logicalReads, long channelReads, long bytesRead) {}
 
-        return new SeekableInputStream() {
+    public Stats stats() {
+        return new Stats(logicalReads.sum(), channelReads.sum(), bytesRead.sum());
+    }
 
-            private final SeekableByteChannel byteChannel = Files.newByteChannel(path);
-            private final ByteBuffer singleByteBuffer = ByteBuffer.allocate(1);
+    /**
+     * Reads ahead up to readAheadSize bytes per channel read, so the small reads of the thrift headers are served
+     * from memory. Seeking inside the buffer doesn't touch the channel, and the channel is only positioned when a
+     * read can't be served from the buffer. Reads larger than the buffer bypass it.
+     */
+    private final class BufferedChannelStream extends SeekableInputStream {
 
-            @Override
-            public int read() throws IOException {
-                // There has to be a better way to do this?
-                singleByteBuffer.clear();
-                final int numRead = read(singleByteBuffer);
-                if (numRead >= 0) {
-                    return (int)singleByteBuffer.get(0) & 0xFF;
-                } else {
-                    return -1;
+        private final SeekableByteChannel channel;
+        private final ByteBuffer buffer;
+        // file position of buffer[0], the stream position is bufferStart + buffer.position()
+        private long bufferStart = 0;
+        private long channelPos = 0;
+
+        private BufferedChannelStream(SeekableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(readAheadSize).limit(0);
+        }
+
+        @Override
+        public int read() throws IOException {
+            logicalReads.increment();
+            if (!buffer.hasRemaining() && fill() < 0) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            logicalReads.increment();
+            return readInto(ByteBuffer.wrap(bytes, off, len));
+        }
+
+        @Override
+        public int read(ByteBuffer buf) throws IOException {
+            logicalReads.increment();
+            return readInto(buf);
+        }
+
+        @Override
+        public void readFully(byte[] bytes) throws IOException {
+            readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(byte[] bytes, int start, int len) throws IOException {
+            readFully(ByteBuffer.wrap(bytes, start, len));
+        }
+
+        @Override
+        public void readFully(ByteBuffer buf) throws IOException {
+            logicalReads.increment();
+            long pos = getPos();
+            int len = buf.remaining();
+            while (buf.hasRemaining()) {
+                if (readInto(buf) < 0) {
+                    throw new EOFException("Reached the end of %s reading %d bytes at %d".formatted(path, len, pos));
                 }
             }
+        }
 
-            @Override
-            public long getPos() throws IOException {
-                return byteChannel.position();
+        @Override
+        public long getPos() {
+            return bufferStart + buffer.position();
+        }
+
+        @Override
+        public void seek(long newPos) throws IOException {
+            if (newPos < 0) {
+                throw new EOFException("Cannot seek %s to a negative position: %d".formatted(path, newPos));
             }
+            if (newPos >= bufferStart && newPos <= bufferStart + buffer.limit()) {
+                buffer.position((int) (newPos - bufferStart));
+            } else {
+                bufferStart = newPos;
+                buffer.limit(0);
+            }
+        }
 
-            @Override
-            public void seek(long newPos) throws IOException {
-                byteChannel.position(newPos);
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
             }
+            long pos = getPos();
+            long newPos = Math.min(pos + n, Math.max(pos, getLength()));
+            seek(newPos);
+            return newPos - pos;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean readVectoredAvailable(ByteBufferAllocator allocator) {
+            return true;
+        }
 
-            @Override
-            public void readFully(byte[] bytes) throws IOException {
-                readFully(bytes, 0, bytes.length);
+        @Override
+        public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) {
+            for (MergedRange merged : mergeRanges(ranges, maxMergeGap, maxMergedSize)) {
+                CompletableFuture<ByteBuffer> read = CompletableFuture.supplyAsync(
+                        () -> readRange(merged.offset(), merged.length(), allocator.isDirect()), vectoredReadExecutor);
+                for (ParquetFileRange range : merged.ranges()) {
+                    int start = (int) (range.getOffset() - merged.offset());
+                    range.setDataReadFuture(read.thenApply(buffer -> buffer.slice(start, range.getLength())));
+                }
             }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
 
-            @Override
-            public void readFully(byte[] bytes, int start, int len) throws IOException {
-                final ByteBuffer buf = ByteBuffer.wrap(bytes);
-                buf.position(start);
-                readFully(buf);
+        private int readInto(ByteBuffer dst) throws IOException {
+            if (!dst.hasRemaining()) {
+                return 0;
             }
+            if (!buffer.hasRemaining()) {
+                if (dst.remaining() >= buffer.capacity()) {
+                    long pos = getPos();
+                    int numRead = channelRead(pos, dst);
+                    if (numRead > 0) {
+                        bufferStart = pos + numRead;
+                        buffer.limit(0);
+                    }
+                    return numRead;
+                }
+                if (fill() < 0) {
+                    return -1;
+                }
+            }
+            int len = Math.min(dst.remaining(), buffer.remaining());
+            dst.put(dst.position(), buffer, buffer.position(), len);
+            dst.position(dst.position() + len);
+            buffer.position(buffer.position() + len);
+            return len;
+        }
+
+        private int fill() throws IOException {
+            long pos = getPos();
+            buffer.clear();
+            int numRead = channelRead(pos, buffer);
+            buffer.flip();
+            bufferStart = pos;
+            return numRead;
+        }
 
-            @Override
-            public int read(ByteBuffer buf) throws IOException {
-                return byteChannel.read(buf);
+        private int channelRead(long pos, ByteBuffer dst) throws IOException {
+            if (channelPos != pos) {
+                channel.position(pos);
+                channelPos = pos;
+            }
+            int numRead = channel.read(dst);
+            channelReads.increment();
+            if (numRead > 0) {
+                bytesRead.add(numRead);
+                channelPos += numRead;
             }
+            return numRead;
+        }
+    }
 
-            @Override
-            public void readFully(ByteBuffer buf) throws IOException {
-                int numRead = 0;
-                while (numRead < buf.limit()) {
-                    final int code = read(buf);
-                    if (code == -1) {
-                        return;
-                    } else {
-                        numRead += code;
-                    }
+    /**
+     * Reads a range on its own channel. The buffer is not taken from the allocator because parquet doesn't
+     * release the buffers of vectored reads.
+     */
+    private ByteBuffer readRange(long offset, int length, boolean direct) {
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+        concurrentReads.acquireUninterruptibly();
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            channel.position(offset);
+            while (buffer.hasRemaining()) {
+                int numRead = channel.read(buffer);
+                channelReads.increment();
+                if (numRead < 0) {
+                    throw new EOFException("Reached the end of %s reading %d bytes at %d".formatted(path, length, offset));
                 }
+                bytesRead.add(numRead);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            concurrentReads.release();
+        }
+        return buffer.flip();
+    }
+
+    record MergedRange(long offset, int length, List<ParquetFileRange> ranges) {}
 
-            @Override
-            public void close() throws IOException {
-                byteChannel.close();
+    /**
+     * Merges the ranges separated by at most maxMergeGap bytes, as long as the merged range doesn't exceed
+     * maxMergedSize. Ranges larger than maxMergedSize are read on their own.
+     */
+    static List<MergedRange> mergeRanges(List<ParquetFileRange> ranges, int maxMergeGap, int maxMergedSize) {
+        List<ParquetFileRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(ParquetFileRange::getOffset));
+        List<MergedRange> merged = new ArrayList<>();
+        List<ParquetFileRange> current = new ArrayList<>();
+        long start = 0;
+        long end = 0;
+        for (ParquetFileRange range : sorted) {
+            long rangeEnd = range.getOffset() + range.getLength();
+            if (!current.isEmpty()
+                    && range.getOffset() - end <= maxMergeGap
+                    && Math.max(end, rangeEnd) - start <= maxMergedSize) {
+                current.add(range);
+                end = Math.max(end, rangeEnd);
+            } else {
+                if (!current.isEmpty()) {
+                    merged.add(new MergedRange(start, (int) (end - start), List.copyOf(current)));
+                    current.clear();
+                }
+                current.add(range);
+                start = range.getOffset();
+                end = rangeEnd;
             }
-        };
+        }
+        if (!current.isEmpty()) {
+            merged.add(new MergedRange(start, (int) (end - start), List.copyOf(current)));
+        }
+        return merged;
     }
 }
@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link OutputFile} counterpart to {@link NioInputFile}, writing through java.nio channels so that remote
+ * FileSystems such as S3 can be written to.
+ * <p>
+ * Writes are pipelined: bytes are gathered in chunks of chunkSize bytes, and full chunks are written to the
+ * channel by a background thread, so that the writer can encode and compress the next row group while the
+ * previous one is being written. At most maxPendingChunks chunks are queued, blocking the writer when the channel
+ * can't keep up.
+ */
+public class NioOutputFile implements OutputFile {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_PENDING_CHUNKS = 8;
+
+    private static final ExecutorService channelWriteExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final ByteBuffer END_OF_STREAM = ByteBuffer.allocate(0);
+
+    private final Path path;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+
+    public NioOutputFile(Path file) {
+        this(file, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_PENDING_CHUNKS);
+    }
+
+    public NioOutputFile(Path file, int chunkSize, int maxPendingChunks) {
+        if (chunkSize < 1 || maxPendingChunks < 1) {
+            throw new IllegalArgumentException("chunkSize and maxPendingChunks must be positive: %d, %d"
+                    .formatted(chunkSize, maxPendingChunks));
+        }
+        this.path = file;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) throws IOException {
+        return new PipelinedStream(Files.newByteChannel(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
+        OpenOption[] options = {StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE};
+        return new PipelinedStream(Files.newByteChannel(path, options));
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+        return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+        return 0;
+    }
+
+    @Override
+    public String getPath() {
+        return path.toString();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private final class PipelinedStream extends PositionOutputStream {
+
+        private final SeekableByteChannel channel;
+        private final BlockingQueue<ByteBuffer> pending = new ArrayBlockingQueue<>(maxPendingChunks);
+        // chunks written to the channel, reused for the next writes
+        private final Queue<ByteBuffer> written = new ConcurrentLinkedQueue<>();
+        private final Future<Void> channelWriter;
+        private ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+        private long pos = 0;
+        private boolean closed = false;
+
+        private PipelinedStream(SeekableByteChannel channel) {
+            this.channel = channel;
+            this.channelWriter = channelWriteExecutor.submit(this::writeChunks);
+        }
+
+        @Override
+        public long getPos() {
+            return pos;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!chunk.hasRemaining()) {
+                submitChunk();
+            }
+            chunk.put((byte) b);
+            pos++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!chunk.hasRemaining()) {
+                    submitChunk();
+                }
+                int n = Math.min(len, chunk.remaining());
+                chunk.put(bytes, off, n);
+                off += n;
+                len -= n;
+                pos += n;
+            }
+        }
+
+        /**
+         * Hands the buffered bytes to the channel writer, without waiting for them to be written.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (chunk.position() > 0) {
+                submitChunk();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flush();
+                enqueue(END_OF_STREAM);
+                channelWriter.get();
+            } catch (ExecutionException e) {
+                throw channelWriteError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted closing %s".formatted(path));
+            } finally {
+                channelWriter.cancel(true);
+                channel.close();
+            }
+        }
+
+        private void submitChunk() throws IOException {
+            enqueue(chunk.flip());
+            ByteBuffer reused = written.poll();
+            chunk = reused != null ? reused : ByteBuffer.allocate(chunkSize);
+        }
+
+        private void enqueue(ByteBuffer buffer) throws IOException {
+            try {
+                // fails fast if the channel writer failed, instead of blocking on a queue nobody takes from
+                while (!pending.offer(buffer, 100, TimeUnit.MILLISECONDS)) {
+                    if (channelWriter.isDone()) {
+                        channelWriter.get();
+                        throw new IOException("The channel writer of %s stopped".formatted(path));
+                    }
+                }
+            } catch (ExecutionException e) {
+                throw channelWriteError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted writing %s".formatted(path));
+            }
+        }
+
+        private IOException channelWriteError(ExecutionException e) {
+            return e.getCause() instanceof IOException io ? io : new IOException("Error writing %s".formatted(path), e.getCause());
+        }
+
+        private Void writeChunks() throws IOException, InterruptedException {
+            ByteBuffer buffer;
+            while ((buffer = pending.take()) != END_OF_STREAM) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                written.offer(buffer.clear());
+            }
+            return null;
+        }
+    }
+}
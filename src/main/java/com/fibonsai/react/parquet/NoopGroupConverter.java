@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.Type;
+
+/**
+ * Converter tree matching a schema that discards every value. Column readers need a converter for
+ * each column even when values are read directly or ignored, like the unbound columns read by a filter.
+ */
+final class NoopGroupConverter extends GroupConverter {
+
+    static final PrimitiveConverter NOOP_PRIMITIVE = new PrimitiveConverter() {
+        @Override
+        public void addBinary(Binary value) {
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+        }
+
+        @Override
+        public void addDouble(double value) {
+        }
+
+        @Override
+        public void addFloat(float value) {
+        }
+
+        @Override
+        public void addInt(int value) {
+        }
+
+        @Override
+        public void addLong(long value) {
+        }
+    };
+
+    private final Converter[] converters;
+
+    NoopGroupConverter(GroupType groupType) {
+        this.converters = new Converter[groupType.getFieldCount()];
+        for (int i = 0; i < converters.length; i++) {
+            Type field = groupType.getType(i);
+            converters[i] = field.isPrimitive() ? NOOP_PRIMITIVE : new NoopGroupConverter(field.asGroupType());
+        }
+    }
+
+    @Override
+    public Converter getConverter(int fieldIndex) {
+        return converters[fieldIndex];
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void end() {
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.ParquetFileRange;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of parquet footers, keyed by file URI and validated against the size, modification time and
+ * file key (the ETag on S3) of the file on every lookup.
+ * <p>
+ * Each entry keeps the parsed {@link ParquetMetadata}, the raw footer bytes and the {@link MessageColumnIO} of
+ * the schemas read from the file. Readers opened through {@link CachedFile#inputFile(InputFile)} get the footer
+ * from memory, so opening a cached file only costs the attributes lookup. Converters are cached separately, by
+ * schema, see {@link MapConverters}.
+ * <p>
+ * The size bound is on the estimated heap of the entries: their raw footer bytes, and the parsed metadata and
+ * column IOs, charged per column chunk and per column of the schemas read.
+ */
+public class ParquetMetadataCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+    public static final long DEFAULT_MAX_BYTES = 128L * 1024 * 1024;
+
+    // footers are usually smaller than this, so they are read along with the footer length in a single read
+    static final int TAIL_READ_SIZE = 64 * 1024;
+    private static final int MAX_COLUMN_IOS = 16;
+    // rough heap estimates of the parsed metadata of a column chunk (path, encodings, statistics), and of a column
+    // of a schema, its descriptor and column IO
+    private static final long COLUMN_CHUNK_BYTES = 512;
+    private static final long COLUMN_BYTES = 256;
+
+    private static final ParquetMetadataCache SHARED = new ParquetMetadataCache(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Map<URI, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * A cache of up to maxEntries footers, and up to maxBytes of their estimated heap.
+     */
+    public ParquetMetadataCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("maxEntries and maxBytes must be positive: %d, %d".formatted(maxEntries, maxBytes));
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cache used by default by {@link ReadOptions} and {@link ParquetUtils#showMetadata(String)}.
+     */
+    public static ParquetMetadataCache shared() {
+        return SHARED;
+    }
+
+    public record Stats(long hits, long misses, long evictions, int entries, long bytes) {}
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), bytes);
+        }
+    }
+
+    /**
+     * The footer of the file at path, read through a channel on a miss rather than mapping the whole file.
+     */
+    public ParquetMetadata metadata(Path path) throws IOException {
+        return get(path, new NioInputFile(path)).metadata();
+    }
+
+    public void invalidate(Path path) {
+        synchronized (entries) {
+            CachedFile removed = entries.remove(path.toUri());
+            if (removed != null) {
+                bytes -= removed.weight;
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /**
+     * Returns the cached footer of path, reading it through inputFile if it isn't cached or the file changed.
+     */
+    CachedFile get(Path path, InputFile inputFile) throws IOException {
+        return get(path, inputFile, path.toString(), ReaderMetrics.NOOP);
+    }
+
+    /**
+     * Same as {@link #get(Path, InputFile)}, reporting the lookup of filePath to metrics.
+     */
+    CachedFile get(Path path, InputFile inputFile, String filePath, ReaderMetrics metrics) throws IOException {
+        URI uri = path.toUri();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        synchronized (entries) {
+            CachedFile cached = entries.get(uri);
+            if (cached != null && cached.matches(attributes)) {
+                hits.increment();
+                metrics.footerCacheLookup(filePath, true);
+                return cached;
+            }
+        }
+        misses.increment();
+        metrics.footerCacheLookup(filePath, false);
+        CachedFile loaded = load(uri, attributes, inputFile);
+        synchronized (entries) {
+            CachedFile previous = entries.put(uri, loaded);
+            if (previous != null) {
+                bytes -= previous.weight;
+            }
+            bytes += loaded.weight;
+            evict();
+        }
+        return loaded;
+    }
+
+    private void evict() {
+        Iterator<CachedFile> it = entries.values().iterator();
+        while (it.hasNext() && entries.size() > 1 && (entries.size() > maxEntries || bytes > maxBytes)) {
+            bytes -= it.next().weight;
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Adds weight to a cached file, and to the cache if it still holds it.
+     */
+    private void charge(CachedFile file, long weight) {
+        synchronized (entries) {
+            file.weight += weight;
+            if (entries.get(file.uri) == file) {
+                bytes += weight;
+                evict();
+            }
+        }
+    }
+
+    private CachedFile load(URI uri, BasicFileAttributes attributes, InputFile inputFile) throws IOException {
+        long length = attributes.size();
+        byte[] tail;
+        try (SeekableInputStream stream = inputFile.newStream()) {
+            int readSize = (int) Math.min(length, TAIL_READ_SIZE);
+            tail = new byte[readSize];
+            stream.seek(length - readSize);
+            stream.readFully(tail);
+            if (readSize < 12) {
+                throw new IOException("%s is not a Parquet file (length is too low: %d)".formatted(inputFile, length));
+            }
+            int footerLength = ByteBuffer.wrap(tail, readSize - 8, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            long tailSize = footerLength + 8L;
+            if (footerLength < 0 || tailSize > length - 4) {
+                throw new IOException("corrupted file: the footer index is not within the file %s".formatted(inputFile));
+            }
+            if (tailSize > readSize) {
+                byte[] fullTail = new byte[(int) tailSize];
+                stream.seek(length - tailSize);
+                stream.readFully(fullTail, 0, (int) tailSize - readSize);
+                System.arraycopy(tail, 0, fullTail, (int) tailSize - readSize, readSize);
+                tail = fullTail;
+            } else {
+                tail = Arrays.copyOfRange(tail, readSize - (int) tailSize, readSize);
+            }
+        }
+        TailInputFile tailInputFile = new TailInputFile(inputFile, length, tail);
+        ParquetReadOptions options = ParquetReadOptions.builder(new PlainParquetConfiguration()).build();
+        ParquetMetadata metadata;
+        try (SeekableInputStream stream = tailInputFile.newStream()) {
+            metadata = ParquetFileReader.readFooter(tailInputFile, options, stream);
+        }
+        return new CachedFile(uri, attributes, metadata, tail);
+    }
+
+    /**
+     * A cached footer, along with the attributes of the file it was read from.
+     */
+    final class CachedFile {
+
+        private final URI uri;
+        private final long size;
+        private final FileTime lastModified;
+        private final Object fileKey;
+        private final ParquetMetadata metadata;
+        private final byte[] tail;
+        private final Map<MessageType, MessageColumnIO> columnIOs = new ConcurrentHashMap<>();
+        // estimated heap, guarded by the entries of the cache
+        private long weight;
+
+        private CachedFile(URI uri, BasicFileAttributes attributes, ParquetMetadata metadata, byte[] tail) {
+            this.uri = uri;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.fileKey = attributes.fileKey();
+            this.metadata = metadata;
+            this.tail = tail;
+            long columnChunks = metadata.getBlocks().stream().mapToLong(block -> block.getColumns().size()).sum();
+            this.weight = tail.length + columnChunks * COLUMN_CHUNK_BYTES
+                    + metadata.getFileMetaData().getSchema().getColumns().size() * COLUMN_BYTES;
+        }
+
+        ParquetMetadata metadata() {
+            return metadata;
+        }
+
+        /**
+         * Wraps inputFile so that its length and footer are served from this entry.
+         */
+        InputFile inputFile(InputFile inputFile) {
+            return new TailInputFile(inputFile, size, tail);
+        }
+
+        MessageColumnIO columnIO(MessageType requestedSchema) {
+            MessageColumnIO columnIO = columnIOs.get(requestedSchema);
+            if (columnIO == null) {
+                columnIO = new ColumnIOFactory().getColumnIO(requestedSchema, metadata.getFileMetaData().getSchema());
+                if (columnIOs.size() < MAX_COLUMN_IOS && columnIOs.putIfAbsent(requestedSchema, columnIO) == null) {
+                    charge(this, requestedSchema.getColumns().size() * COLUMN_BYTES);
+                }
+            }
+            return columnIO;
+        }
+
+        private boolean matches(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModified.equals(attributes.lastModifiedTime())
+                    && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+
+    /**
+     * Serves the last tail.length bytes of the file from memory, everything else from the delegate, whose stream
+     * is only opened when needed.
+     */
+    private record TailInputFile(InputFile delegate, long length, byte[] tail) implements InputFile {
+
+        @Override
+        public long getLength() {
+            return length;
+        }
+
+        @Override
+        public SeekableInputStream newStream() {
+            return new TailStream();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        private final class TailStream extends SeekableInputStream {
+
+            private final long tailStart = length - tail.length;
+            private SeekableInputStream stream;
+            private long pos = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (pos >= length) {
+                    return -1;
+                }
+                if (pos >= tailStart) {
+                    return tail[(int) (pos++ - tailStart)] & 0xFF;
+                }
+                int value = delegate().read();
+                if (value >= 0) {
+                    pos++;
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] bytes, int off, int len) throws IOException {
+                return read(ByteBuffer.wrap(bytes, off, len));
+            }
+
+            @Override
+            public int read(ByteBuffer buf) throws IOException {
+                if (!buf.hasRemaining()) {
+                    return 0;
+                }
+                if (pos >= length) {
+                    return -1;
+                }
+                int numRead;
+                if (pos >= tailStart) {
+                    numRead = (int) Math.min(buf.remaining(), length - pos);
+                    buf.put(tail, (int) (pos - tailStart), numRead);
+                } else {
+                    // don't read past the tail start, the next read is served from memory
+                    ByteBuffer slice = buf.slice(buf.position(), (int) Math.min(buf.remaining(), tailStart - pos));
+                    numRead = delegate().read(slice);
+                    if (numRead > 0) {
+                        buf.position(buf.position() + numRead);
+                    }
+                }
+                if (numRead > 0) {
+                    pos += numRead;
+                }
+                return numRead;
+            }
+
+            @Override
+            public void readFully(byte[] bytes) throws IOException {
+                readFully(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void readFully(byte[] bytes, int start, int len) throws IOException {
+                readFully(ByteBuffer.wrap(bytes, start, len));
+            }
+
+            @Override
+            public void readFully(ByteBuffer buf) throws IOException {
+                int len = buf.remaining();
+                long start = pos;
+                while (buf.hasRemaining()) {
+                    if (read(buf) < 0) {
+                        throw new EOFException("Reached the end of %s reading %d bytes at %d".formatted(delegate, len, start));
+                    }
+                }
+            }
+
+            @Override
+            public long getPos() {
+                return pos;
+            }
+
+            @Override
+            public void seek(long newPos) throws IOException {
+                if (newPos < 0) {
+                    throw new EOFException("Cannot seek %s to a negative position: %d".formatted(delegate, newPos));
+                }
+                pos = newPos;
+            }
+
+            @Override
+            public boolean readVectoredAvailable(ByteBufferAllocator allocator) {
+                try {
+                    return delegate().readVectoredAvailable(allocator);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) throws IOException {
+                delegate().readVectored(ranges, allocator);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (stream != null) {
+                    stream.close();
+                }
+            }
+
+            /**
+             * Returns the delegate stream, positioned at pos.
+             */
+            private SeekableInputStream delegate() throws IOException {
+                if (stream == null) {
+                    stream = delegate.newStream();
+                }
+                if (stream.getPos() != pos) {
+                    stream.seek(pos);
+                }
+                return stream;
+            }
+        }
+    }
+}
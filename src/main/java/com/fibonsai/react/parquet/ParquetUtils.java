@@ -14,23 +14,24 @@
 
 package com.fibonsai.react.parquet;
 
-import org.apache.parquet.ParquetReadOptions;
-import org.apache.parquet.conf.ParquetConfiguration;
-import org.apache.parquet.conf.PlainParquetConfiguration;
-import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
-import org.apache.parquet.io.InputFile;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
 import org.apache.parquet.schema.Type;
 
-import java.nio.file.FileSystem;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ParquetUtils {
 
@@ -44,37 +45,214 @@ public class ParquetUtils {
                            long rowsTotal,
                            Map<String, TypeWithRepetition> fieldsInfo) {}
 
+    /**
+     * Statistics of a column, from the footer. The null count is null when it wasn't written, min and max are
+     * null when the column has no statistics or only nulls, and are converted to the values read for the column.
+     * Sizes are in bytes.
+     */
+    public record ColumnStats(String path,
+                              String type,
+                              long valueCount,
+                              Long nullCount,
+                              Object min,
+                              Object max,
+                              long compressedSize,
+                              long uncompressedSize) {}
+
+    public record RowGroupStats(int index,
+                                long rowCount,
+                                long compressedSize,
+                                long uncompressedSize,
+                                Map<String, ColumnStats> columns) {}
+
+    /**
+     * Statistics of the row groups of a file and of its columns, merged over the row groups.
+     */
+    public record FileStats(long rowsTotal,
+                            List<RowGroupStats> rowGroups,
+                            Map<String, ColumnStats> columns) {}
+
     public static FileInfo showMetadata(String filePath) {
-        final ParquetConfiguration conf = new PlainParquetConfiguration();
         final FileInfo fileInfo;
-        try {
-            final FileSystem fs = SpiAlternativeUtil.getFileSystem(filePath);
-            final Path path = fs.getPath(filePath);
-            final InputFile inputFile = new NioInputFile(path);
-            try (ParquetFileReader reader = new ParquetFileReader(inputFile, ParquetReadOptions.builder(conf).build())) {
-                ParquetMetadata metadata = reader.getFooter();
-                MessageType schema = metadata.getFileMetaData().getSchema();
-                long totalRows = metadata.getBlocks().stream()
-                        .mapToLong(BlockMetaData::getRowCount)
-                        .sum();
-
-                Map<String, TypeWithRepetition> fieldsMap = new HashMap<>();
-                showFieldsWithTypes(schema.getFields(), fieldsMap);
-
-                fileInfo = new FileInfo(
-                        metadata.getFileMetaData().getCreatedBy(),
-                        schema.getName(),
-                        metadata.getBlocks().size(),
-                        totalRows,
-                        fieldsMap
-                );
-            }
+        try (FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath)) {
+            final Path path = lease.fileSystem().getPath(filePath);
+            ParquetMetadata metadata = ParquetMetadataCache.shared().metadata(path);
+            MessageType schema = metadata.getFileMetaData().getSchema();
+            long totalRows = metadata.getBlocks().stream()
+                    .mapToLong(BlockMetaData::getRowCount)
+                    .sum();
+
+            Map<String, TypeWithRepetition> fieldsMap = new HashMap<>();
+            showFieldsWithTypes(schema.getFields(), fieldsMap);
+
+            fileInfo = new FileInfo(
+                    metadata.getFileMetaData().getCreatedBy(),
+                    schema.getName(),
+                    metadata.getBlocks().size(),
+                    totalRows,
+                    fieldsMap
+            );
         } catch (Exception e) {
             throw new RuntimeException("Error reading parquet file: %s".formatted(filePath), e);
         }
         return fileInfo;
     }
 
+    /**
+     * Reads the statistics of every row group and column chunk from the footer, without reading any page.
+     * Columns are keyed by their dot separated path, in schema order.
+     */
+    public static FileStats showStatistics(String filePath) {
+        try (FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath)) {
+            final Path path = lease.fileSystem().getPath(filePath);
+            ParquetMetadata metadata = ParquetMetadataCache.shared().metadata(path);
+            MessageType schema = metadata.getFileMetaData().getSchema();
+            List<RowGroupStats> rowGroups = new ArrayList<>();
+            Map<String, ColumnStats> fileColumns = new LinkedHashMap<>();
+            long totalRows = 0;
+            for (BlockMetaData block : metadata.getBlocks()) {
+                Map<String, ColumnStats> columns = new LinkedHashMap<>();
+                for (ColumnChunkMetaData chunk : block.getColumns()) {
+                    String columnPath = chunk.getPath().toDotString();
+                    String type = schema.containsPath(chunk.getPath().toArray())
+                            ? getJavaTypeForField(schema.getType(chunk.getPath().toArray()))
+                            : "Object";
+                    ColumnStats stats = FooterStatistics.columnStats(columnPath, type, chunk);
+                    columns.put(columnPath, stats);
+                    fileColumns.merge(columnPath, stats, FooterStatistics::merge);
+                }
+                rowGroups.add(new RowGroupStats(rowGroups.size(), block.getRowCount(), block.getCompressedSize(),
+                        block.getTotalByteSize(), columns));
+                totalRows += block.getRowCount();
+            }
+            return new FileStats(totalRows, List.copyOf(rowGroups), fileColumns);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading parquet file: %s".formatted(filePath), e);
+        }
+    }
+
+    /**
+     * Plans up to maxSplits splits of contiguous row groups, balanced on their compressed size or row count.
+     * Fewer splits are planned when the file has fewer row groups, or a row group outweighs a split.
+     */
+    public static List<FileSplit> planSplits(String filePath, int maxSplits, FileSplit.Balance balance) {
+        try (FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath)) {
+            final Path path = lease.fileSystem().getPath(filePath);
+            return planSplits(ParquetMetadataCache.shared().metadata(path).getBlocks(), maxSplits, balance);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading parquet file: %s".formatted(filePath), e);
+        }
+    }
+
+    static List<FileSplit> planSplits(List<BlockMetaData> blocks, int maxSplits, FileSplit.Balance balance) {
+        if (maxSplits < 1) {
+            throw new IllegalArgumentException("maxSplits must be positive: %d".formatted(maxSplits));
+        }
+        long total = 0;
+        for (BlockMetaData block : blocks) {
+            total += weight(block, balance);
+        }
+        int splitCount = Math.min(maxSplits, blocks.size());
+        List<FileSplit> splits = new ArrayList<>(splitCount);
+        List<Integer> current = new ArrayList<>();
+        long cumulative = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            current.add(i);
+            cumulative += weight(blocks.get(i), balance);
+            // closes the split once it reaches its share of the total, the last split takes the remaining row groups
+            boolean last = i == blocks.size() - 1;
+            if (last || (splits.size() < splitCount - 1
+                    && (double) cumulative * splitCount >= (double) (splits.size() + 1) * total)) {
+                splits.add(newSplit(blocks, current));
+                current = new ArrayList<>();
+            }
+        }
+        return splits;
+    }
+
+    private static long weight(BlockMetaData block, FileSplit.Balance balance) {
+        return switch (balance) {
+            case COMPRESSED_BYTES -> block.getCompressedSize();
+            case ROWS -> block.getRowCount();
+        };
+    }
+
+    private static FileSplit newSplit(List<BlockMetaData> blocks, List<Integer> rowGroups) {
+        long rowCount = 0;
+        long compressedBytes = 0;
+        List<FileSplit.ByteRange> ranges = new ArrayList<>();
+        for (int index : rowGroups) {
+            BlockMetaData block = blocks.get(index);
+            rowCount += block.getRowCount();
+            compressedBytes += block.getCompressedSize();
+            long start = Long.MAX_VALUE;
+            long end = 0;
+            for (ColumnChunkMetaData column : block.getColumns()) {
+                start = Math.min(start, column.getStartingPos());
+                end = Math.max(end, column.getStartingPos() + column.getTotalSize());
+            }
+            if (start >= end) {
+                continue;
+            }
+            FileSplit.ByteRange previous = ranges.isEmpty() ? null : ranges.getLast();
+            if (previous != null && previous.offset() + previous.length() == start) {
+                ranges.set(ranges.size() - 1, new FileSplit.ByteRange(previous.offset(), end - previous.offset()));
+            } else {
+                ranges.add(new FileSplit.ByteRange(start, end - start));
+            }
+        }
+        return new FileSplit(List.copyOf(rowGroups), rowCount, compressedBytes, List.copyOf(ranges));
+    }
+
+    /**
+     * Builds a projection of the file schema that keeps only the requested columns, in file order.
+     * Nested fields are addressed with dot separated paths (e.g. "address.city"); selecting a group
+     * keeps all of its children, whether or not some of them are requested too.
+     */
+    public static MessageType projectSchema(MessageType fileSchema, List<String> columnPaths) {
+        if (columnPaths == null || columnPaths.isEmpty()) {
+            throw new IllegalArgumentException("columnPaths is empty");
+        }
+        Set<String> paths = new LinkedHashSet<>(columnPaths);
+        Set<String> matched = new LinkedHashSet<>();
+        List<Type> fields = projectFields(fileSchema, "", paths, matched);
+        paths.removeAll(matched);
+        if (!paths.isEmpty()) {
+            throw new IllegalArgumentException("Columns not found in schema %s: %s".formatted(fileSchema.getName(), paths));
+        }
+        return new MessageType(fileSchema.getName(), fields);
+    }
+
+    /**
+     * The Arrow schema of the batches read by {@link ReactParquetReader#readArrowBatches}: one field per column,
+     * named by its dot separated path and typed like {@link #showMetadata(String)} types it. Repeated columns are
+     * not supported. Needs Arrow, an optional dependency, on the classpath.
+     */
+    public static Schema getArrowSchema(MessageType schema) {
+        return ArrowBatchReader.schema(schema);
+    }
+
+    private static List<Type> projectFields(GroupType group, String prefix, Set<String> paths, Set<String> matched) {
+        List<Type> projected = new ArrayList<>();
+        for (Type field : group.getFields()) {
+            String path = prefix.isEmpty() ? field.getName() : prefix + "." + field.getName();
+            if (paths.contains(path)) {
+                matched.add(path);
+                projected.add(field);
+                if (!field.isPrimitive()) {
+                    // the paths under a selected group are selected with it, only matched here
+                    projectFields(field.asGroupType(), path, paths, matched);
+                }
+            } else if (!field.isPrimitive() && paths.stream().anyMatch(p -> p.startsWith(path + "."))) {
+                List<Type> children = projectFields(field.asGroupType(), path, paths, matched);
+                if (!children.isEmpty()) {
+                    projected.add(field.asGroupType().withNewFields(children));
+                }
+            }
+        }
+        return projected;
+    }
+
     private static void showFieldsWithTypes(List<Type> fields, Map<String, TypeWithRepetition> fieldsMap) {
 
         for (Type field : fields) {
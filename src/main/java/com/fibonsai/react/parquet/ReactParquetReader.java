@@ -14,287 +14,1155 @@
 
 package com.fibonsai.react.parquet;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.PageReadStore;
 import org.apache.parquet.conf.ParquetConfiguration;
 import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.FileMetaData.EncryptionType;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexFilter;
+import org.apache.parquet.internal.filter2.columnindex.ColumnIndexStore;
+import org.apache.parquet.internal.filter2.columnindex.RowRanges;
 import org.apache.parquet.io.ColumnIOFactory;
 import org.apache.parquet.io.InputFile;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.RecordReader;
-import org.apache.parquet.io.api.*;
-import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
-import org.apache.parquet.schema.PrimitiveType;
-import org.apache.parquet.schema.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 import reactor.core.publisher.SynchronousSink;
-import reactor.util.function.Tuple2;
-import reactor.util.function.Tuples;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.nio.file.FileSystem;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 public class ReactParquetReader {
 
+    private static final Logger log = LoggerFactory.getLogger(ReactParquetReader.class);
+
+    private static final ExecutorService rowGroupFetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
     final ParquetConfiguration conf = new PlainParquetConfiguration();
 
     public Flux<Map<String, Object>> readParquetFile(String filePath) {
-        return Flux.generate(
-                () -> {
-                    final FileSystem fs = SpiAlternativeUtil.getFileSystem(filePath);
-                    final Path path = fs.getPath(filePath);
-                    final InputFile inputFile = new NioInputFile(path);
-                    return new ParquetFileReader(inputFile, ParquetReadOptions.builder(conf).build());
-                },
-                (ParquetFileReader reader, SynchronousSink<Tuple2<Long, RecordReader<Map<String, Object>>>> sink) -> {
-                    ParquetMetadata metadata = reader.getFooter();
-                    MessageType schema = metadata.getFileMetaData().getSchema();
-                    final PageReadStore pages;
-                    try {
-                        pages = reader.readNextRowGroup();
-                    } catch (IOException e) {
-                        sink.error(e);
-                        throw new RuntimeException(e.getMessage(), e);
-                    }
-                    if (pages == null) {
-                        sink.complete();
-                    } else {
-                        long rowCount = pages.getRowCount();
-                        MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
-                        MapRecordMaterializer materializer = new MapRecordMaterializer(schema);
-                        var recordReader = columnIO.getRecordReader(pages, materializer);
-                        if (recordReader != null) {
-                            sink.next(Tuples.of(rowCount, recordReader));
-                        }
-                    }
-                    return reader;
-                },
-                (reader) -> {
-                    try {
-                        reader.close();
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+        return readParquetFile(filePath, ReadOptions.defaults());
+    }
+
+    /**
+     * Reads only the given columns. Nested columns are addressed with dot separated paths
+     * (e.g. "address.city"); column chunks outside the projection are never fetched nor decoded.
+     */
+    public Flux<Map<String, Object>> readParquetFile(String filePath, List<String> columns) {
+        return readParquetFile(filePath, ReadOptions.builder().columns(columns).build());
+    }
+
+    /**
+     * Reads only the fields of requestedSchema, which must be a subset of the file schema.
+     */
+    public Flux<Map<String, Object>> readParquetFile(String filePath, MessageType requestedSchema) {
+        return readParquetFile(filePath, ReadOptions.builder().requestedSchema(requestedSchema).build());
+    }
+
+    /**
+     * Reads only the rows matching the predicate, pruning row groups and pages using the file metadata.
+     */
+    public Flux<Map<String, Object>> readParquetFile(String filePath, FilterPredicate filter) {
+        return readParquetFile(filePath, ReadOptions.builder().filter(filter).build());
+    }
+
+    public Flux<Map<String, Object>> readParquetFile(String filePath, ReadOptions options) {
+        Flux<Map<String, Object>> rows = readRecords(filePath, options, UnaryOperator.identity(),
+                schema -> MapConverters.compile(schema).newMaterializer());
+        List<String> filterOnlyColumns = options.filterOnlyColumns();
+        if (filterOnlyColumns.isEmpty()) {
+            return rows;
+        }
+        // the filter columns left out of the projection are read to filter the rows, not returned
+        return rows.map(row -> {
+            filterOnlyColumns.forEach(column -> removeColumn(row, column));
+            return row;
+        });
+    }
+
+    /**
+     * Removes a dot separated column path from a row read as nested maps, and the groups it leaves empty.
+     */
+    private static void removeColumn(Map<String, Object> row, String column) {
+        int dot = column.indexOf('.');
+        if (dot < 0) {
+            row.remove(column);
+            return;
+        }
+        String name = column.substring(0, dot);
+        if (row.get(name) instanceof Map<?, ?> group) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> nested = (Map<String, Object>) group;
+            removeColumn(nested, column.substring(dot + 1));
+            if (nested.isEmpty()) {
+                row.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Reads only the row groups of a split planned with {@link ParquetUtils#planSplits(String, int, FileSplit.Balance)},
+     * so that the splits of a file can be read by different workers.
+     */
+    public Flux<Map<String, Object>> readRowGroups(String filePath, FileSplit split) {
+        return readRowGroups(filePath, split, ReadOptions.defaults());
+    }
+
+    public Flux<Map<String, Object>> readRowGroups(String filePath, FileSplit split, ReadOptions options) {
+        return readParquetFile(filePath, options.toBuilder().rowGroups(split.rowGroups()).build());
+    }
+
+    /**
+     * Reads rows straight into instances of a Java record or POJO, binding columns to record components or
+     * fields by name, ignoring case and underscores ("first_name" binds to firstName). Nested groups bind to
+     * nested records or POJOs. Only the bound columns are read, and those of the filter, all of them for filters
+     * other than predicates. Optional columns bind to boxed members, which read nulls as nulls, and only bind to
+     * primitive members with {@link ReadOptions.Builder#nullsAsDefaults(boolean)}.
+     */
+    public <T> Flux<T> readParquetFile(String filePath, Class<T> type) {
+        return readParquetFile(filePath, type, ReadOptions.defaults());
+    }
+
+    public <T> Flux<T> readParquetFile(String filePath, Class<T> type, ReadOptions options) {
+        // the record filter may need columns that aren't bound, so read them too
+        List<String> filterColumns = options.filterColumns();
+        UnaryOperator<MessageType> projection = filterColumns == null
+                ? UnaryOperator.identity()
+                : schema -> TypedConverters.project(schema, type, filterColumns);
+        return readRecords(filePath, options, projection, schema -> TypedConverters.bind(schema, type, options.nullsAsDefaults()).newMaterializer());
+    }
+
+    /**
+     * Reads the file as a reusable {@link RowView} overwritten in place by every row, so no allocation is made
+     * per row. The view is only valid until the next row is requested, see {@link RowView} for its lifetime.
+     * Parallel decoding is not supported in this mode.
+     */
+    public Flux<RowView> readParquetFileAsView(String filePath) {
+        return readParquetFileAsView(filePath, ReadOptions.defaults());
+    }
+
+    public Flux<RowView> readParquetFileAsView(String filePath, ReadOptions options) {
+        if (options.parallelism() > 1) {
+            return Flux.error(new IllegalArgumentException("Parallel decoding can't be used with a reusable row view"));
+        }
+        return readRecords(filePath, options, UnaryOperator.identity(), RowView.Materializer::new);
+    }
+
+    public Mono<Long> count(String filePath) {
+        return count(filePath, (FilterPredicate) null);
+    }
+
+    /**
+     * Counts the rows matching the filter, or all rows when it's null. Row groups are counted from the footer
+     * statistics when they prove that none or all of their rows match, only the other row groups are scanned.
+     */
+    public Mono<Long> count(String filePath, FilterPredicate filter) {
+        return count(filePath, filter, ReadOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #count(String, FilterPredicate)}, reading the footer and the scanned row groups with the
+     * options. Their projection, row selection and filter are replaced by the ones of the aggregate.
+     */
+    public Mono<Long> count(String filePath, FilterPredicate filter, ReadOptions options) {
+        return planAggregate(filePath, null, filter, options)
+                .flatMap(plan -> plan.scannedRowGroups().isEmpty()
+                        ? Mono.just(plan.rowCount())
+                        : readParquetFile(filePath, scanOptions(plan, filter, options)).count()
+                                .map(count -> plan.rowCount() + count));
+    }
+
+    public Mono<Object> min(String filePath, String column) {
+        return min(filePath, column, null);
+    }
+
+    /**
+     * Returns the min value of a non repeated column, over the rows matching the filter if any, or an empty Mono
+     * when it has only nulls. The value is answered from the footer statistics, scanning only the row groups
+     * they can't resolve. Values are compared in the natural order of the values read for the column.
+     */
+    public Mono<Object> min(String filePath, String column, FilterPredicate filter) {
+        return min(filePath, column, filter, ReadOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #min(String, String, FilterPredicate)}, reading with the options, see
+     * {@link #count(String, FilterPredicate, ReadOptions)}.
+     */
+    public Mono<Object> min(String filePath, String column, FilterPredicate filter, ReadOptions options) {
+        return aggregate(filePath, column, filter, options, FooterStatistics.Plan::min, FooterStatistics::min);
+    }
+
+    public Mono<Object> max(String filePath, String column) {
+        return max(filePath, column, null);
+    }
+
+    /**
+     * Returns the max value of a non repeated column, see {@link #min(String, String, FilterPredicate)}.
+     */
+    public Mono<Object> max(String filePath, String column, FilterPredicate filter) {
+        return max(filePath, column, filter, ReadOptions.defaults());
+    }
+
+    /**
+     * Same as {@link #max(String, String, FilterPredicate)}, reading with the options, see
+     * {@link #count(String, FilterPredicate, ReadOptions)}.
+     */
+    public Mono<Object> max(String filePath, String column, FilterPredicate filter, ReadOptions options) {
+        return aggregate(filePath, column, filter, options, FooterStatistics.Plan::max, FooterStatistics::max);
+    }
+
+    private Mono<Object> aggregate(String filePath,
+                                   String column,
+                                   FilterPredicate filter,
+                                   ReadOptions options,
+                                   Function<FooterStatistics.Plan, Object> resolved,
+                                   BiFunction<Object, Object, Object> reducer) {
+        return planAggregate(filePath, column, filter, options).flatMap(plan -> {
+            Flux<Object> values = Flux.empty();
+            if (!plan.scannedRowGroups().isEmpty()) {
+                values = readParquetFile(filePath, scanOptions(plan, filter, options))
+                        .mapNotNull(row -> FooterStatistics.value(row, column));
+            }
+            if (resolved.apply(plan) != null) {
+                values = values.startWith(resolved.apply(plan));
+            }
+            return values.reduce(reducer);
+        });
+    }
+
+    private Mono<FooterStatistics.Plan> planAggregate(String filePath,
+                                                      String column,
+                                                      FilterPredicate filter,
+                                                      ReadOptions options) {
+        return Mono.fromCallable(() -> {
+            try (FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath)) {
+                final Path path = lease.fileSystem().getPath(filePath);
+                ParquetMetadata metadata = readFooter(path, options.metadataCache());
+                return FooterStatistics.plan(metadata.getFileMetaData().getSchema(), metadata.getBlocks(), column, filter);
+            }
+        }).subscribeOn(options.ioScheduler());
+    }
+
+    private static ParquetMetadata readFooter(Path path, ParquetMetadataCache cache) throws IOException {
+        if (cache != null) {
+            return cache.metadata(path);
+        }
+        try (ParquetFileReader reader = ParquetFileReader.open(new NioInputFile(path))) {
+            return reader.getFooter();
+        }
+    }
+
+    private static ReadOptions scanOptions(FooterStatistics.Plan plan, FilterPredicate filter, ReadOptions options) {
+        return options.toBuilder()
+                .requestedSchema(null)
+                .columns(plan.scannedColumns().isEmpty() ? null : plan.scannedColumns())
+                .rowGroups(plan.scannedRowGroups())
+                .rowRange(0, Long.MAX_VALUE)
+                .filter(filter)
+                .build();
+    }
+
+    /**
+     * Replays the rows of the file at real time, paced by the given TIMESTAMP column, see {@link Replay}.
+     */
+    public Replay<Map<String, Object>> replayParquetFile(String filePath, String timestampColumn) {
+        return replayParquetFile(filePath, timestampColumn, ReplayOptions.defaults());
+    }
+
+    /**
+     * Replays the rows of the file paced by the given TIMESTAMP column, at the speed of the options. The file is
+     * expected to be sorted by the column.
+     */
+    public Replay<Map<String, Object>> replayParquetFile(String filePath, String timestampColumn, ReplayOptions options) {
+        return Replay.of(readParquetFile(filePath, options.readOptions()),
+                row -> Replay.epochNanos(row.get(timestampColumn)), options);
+    }
+
+    /**
+     * Lists the parquet files under rootUri, in path order, parsing their hive partitions (e.g.
+     * date=2025-06-01/venue=X) and pruning the partitions rejected by the options before opening anything.
+     */
+    public Flux<DatasetFile> listParquetDataset(String rootUri, DatasetOptions options) {
+        return Mono.fromCallable(() -> {
+                    try (FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(rootUri)) {
+                        return HivePartitions.listFiles(lease.fileSystem().getPath(rootUri), options);
                     }
                 })
-                .flatMap(page -> {
-                    long rowCount = page.getT1();
-                    var recordReader = page.getT2();
-                    return Flux.generate(
-                        () -> 0,
-                        (count, sink) -> {
-                            if (count < rowCount) {
-                                var objectMap = recordReader.read();
-                                if (objectMap != null) {
-                                    sink.next(objectMap);
+                .subscribeOn(options.scheduler())
+                .flatMapIterable(Function.identity());
+    }
+
+    public Flux<Map<String, Object>> readParquetDataset(String rootUri) {
+        return readParquetDataset(rootUri, DatasetOptions.defaults());
+    }
+
+    /**
+     * Reads all the selected files of a dataset as a single flux, up to {@link DatasetOptions#concurrency()} files
+     * at once. The partition values of a file are added to its rows as strings, unless the file has a column of
+     * the same name. Rows are emitted in path order unless the options say otherwise.
+     */
+    public Flux<Map<String, Object>> readParquetDataset(String rootUri, DatasetOptions options) {
+        Function<DatasetFile, Flux<Map<String, Object>>> readFile = file -> readDatasetFile(file, options)
+                .subscribeOn(options.scheduler());
+        Flux<DatasetFile> files = listParquetDataset(rootUri, options);
+        return options.ordered()
+                ? files.flatMapSequential(readFile, options.concurrency())
+                : files.flatMap(readFile, options.concurrency());
+    }
+
+    /**
+     * Emits one {@link DatasetPart} per selected file, with the footer of the file already read when the metadata
+     * cache is enabled. Up to {@link DatasetOptions#concurrency()} footers are read at once.
+     */
+    public Flux<DatasetPart> readParquetDatasetFiles(String rootUri, DatasetOptions options) {
+        Function<DatasetFile, Mono<DatasetPart>> openFile = file -> Mono.fromCallable(() -> {
+                    prefetchFooter(file.path(), options.readOptions());
+                    return new DatasetPart(file, readDatasetFile(file, options));
+                })
+                .subscribeOn(options.scheduler());
+        Flux<DatasetFile> files = listParquetDataset(rootUri, options);
+        return options.ordered()
+                ? files.flatMapSequential(openFile, options.concurrency())
+                : files.flatMap(openFile, options.concurrency());
+    }
+
+    private Flux<Map<String, Object>> readDatasetFile(DatasetFile file, DatasetOptions options) {
+        Flux<Map<String, Object>> rows = readParquetFile(file.path(), options.readOptions());
+        if (file.partitions().isEmpty()) {
+            return rows;
+        }
+        return rows.map(row -> {
+            file.partitions().forEach(row::putIfAbsent);
+            return row;
+        });
+    }
+
+    private static void prefetchFooter(String filePath, ReadOptions options) throws IOException {
+        ParquetMetadataCache cache = options.metadataCache();
+        if (cache == null) {
+            return;
+        }
+        try (FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath)) {
+            Path path = lease.fileSystem().getPath(filePath);
+            cache.get(path, options.newInputFile(path));
+        }
+    }
+
+    private <T> Flux<T> readRecords(String filePath,
+                                    ReadOptions options,
+                                    UnaryOperator<MessageType> projection,
+                                    Function<MessageType, RecordMaterializer<T>> materializerFactory) {
+        Flux<T> rows = withDemand(options, demand -> {
+            Flux<RowGroup<T>> rowGroups = mapRowGroups(filePath, options, projection, demand,
+                    (state, pages) -> newRowGroup(state, pages, materializerFactory.apply(state.schema())));
+            if (options.parallelism() > 1) {
+                // decodes up to parallelism row groups at once, keeping file order and no more row groups in flight
+                Scheduler scheduler = options.pageStreaming() ? options.ioScheduler() : options.scheduler();
+                return rowGroups
+                        .flatMapSequential(rowGroup -> Mono.fromCallable(rowGroup::readAll).subscribeOn(scheduler),
+                                options.parallelism(), 1)
+                        .flatMapIterable(Function.identity());
+            } else if (options.pageStreaming()) {
+                // pages are read as rows are decoded, which is kept off the subscribing thread
+                return rowGroups.concatMap(rowGroup -> readRows(rowGroup).subscribeOn(options.ioScheduler()), 0);
+            } else {
+                return rowGroups.concatMap(ReactParquetReader::readRows, 0);
+            }
+        });
+        return metered(rows, filePath, options, row -> 1);
+    }
+
+    private static <T> Flux<T> metered(Flux<T> rows, String filePath, ReadOptions options, ToLongFunction<T> rowCount) {
+        ReaderMetrics metrics = options.metrics();
+        if (!metrics.enabled()) {
+            return rows;
+        }
+        return rows.name(ReaderMetrics.SEQUENCE_NAME)
+                .tap(() -> new DemandMetricsListener<>(filePath, metrics, rowCount));
+    }
+
+    /**
+     * Reads the file in batches of up to batchSize rows, each column decoded into a primitive array without
+     * materializing records. Batches don't span row groups. Only non repeated columns are supported, so nested
+     * lists and maps must be projected out. Row groups and pages are pruned by the filter, if any, but the rows
+     * of the remaining pages are not filtered one by one.
+     */
+    public Flux<ColumnBatch> readColumnBatches(String filePath, int batchSize) {
+        return readColumnBatches(filePath, batchSize, ReadOptions.defaults());
+    }
+
+    public Flux<ColumnBatch> readColumnBatches(String filePath, int batchSize, ReadOptions options) {
+        if (batchSize < 1) {
+            return Flux.error(new IllegalArgumentException("batchSize must be positive: %d".formatted(batchSize)));
+        }
+        Flux<ColumnBatch> batches = withDemand(options, demand -> mapRowGroups(filePath, options,
+                UnaryOperator.identity(), demand,
+                (state, pages) -> new ColumnBatchReader(pages, state.schema(), state.createdBy(), batchSize,
+                        state.skippedRows(), state.rowCount(), () -> state.release(pages)))
+                .concatMap(batchReader -> {
+                    Flux<ColumnBatch> rowGroupBatches = Flux.generate(sink -> {
+                        ColumnBatch batch = batchReader.next();
+                        if (batch != null) {
+                            sink.next(batch);
+                        } else {
+                            sink.complete();
+                        }
+                    });
+                    return options.pageStreaming()
+                            ? rowGroupBatches.subscribeOn(options.ioScheduler())
+                            : rowGroupBatches;
+                }, 0));
+        return metered(batches, filePath, options, ColumnBatch::rowCount);
+    }
+
+    /**
+     * Reads the file in batches of up to batchSize rows into Arrow vectors allocated from allocator, decoded from
+     * the column chunks like {@link #readColumnBatches(String, int)}. The same {@link VectorSchemaRoot}, with the
+     * schema mapped by {@link ParquetUtils#getArrowSchema(MessageType)}, is emitted for every batch, its buffers
+     * reused: it is only valid until the next batch is requested, and closed once the flux terminates. It can be
+     * written as is by an {@link org.apache.arrow.vector.ipc.ArrowStreamWriter} created on it.
+     * <p>
+     * Arrow is an optional dependency: the Arrow classes are only referenced from the Arrow methods, so that the
+     * other ones never load them.
+     */
+    public Flux<VectorSchemaRoot> readArrowBatches(String filePath, int batchSize, BufferAllocator allocator) {
+        return readArrowBatches(filePath, batchSize, allocator, ReadOptions.defaults());
+    }
+
+    public Flux<VectorSchemaRoot> readArrowBatches(String filePath, int batchSize, BufferAllocator allocator,
+                                                   ReadOptions options) {
+        if (batchSize < 1) {
+            return Flux.error(new IllegalArgumentException("batchSize must be positive: %d".formatted(batchSize)));
+        }
+        Flux<VectorSchemaRoot> batches = withDemand(options, demand -> Flux.using(
+                AtomicReference<VectorSchemaRoot>::new,
+                root -> mapRowGroups(filePath, options, UnaryOperator.identity(), demand,
+                        (state, pages) -> {
+                            if (root.get() == null) {
+                                root.set(VectorSchemaRoot.create(ArrowBatchReader.schema(state.schema()), allocator));
+                            }
+                            return new ArrowBatchReader(pages, state.schema(), state.createdBy(), root.get(),
+                                    batchSize, state.skippedRows(), state.rowCount(), () -> state.release(pages));
+                        })
+                        .concatMap(batchReader -> {
+                            Flux<VectorSchemaRoot> rowGroupBatches = Flux.generate(sink -> {
+                                if (batchReader.next()) {
+                                    sink.next(root.get());
+                                } else {
+                                    sink.complete();
                                 }
-                                count++;
-                            } else {
+                            });
+                            return options.pageStreaming()
+                                    ? rowGroupBatches.subscribeOn(options.ioScheduler())
+                                    : rowGroupBatches;
+                        }, 0),
+                root -> {
+                    if (root.get() != null) {
+                        root.get().close();
+                    }
+                }));
+        return metered(batches, filePath, options, VectorSchemaRoot::getRowCount);
+    }
+
+    /**
+     * Reads with the demand of the subscriber tracked when the options have a memory budget, so that the reader
+     * gives its reservations back while it isn't read, see {@link Demand}.
+     */
+    private static <T> Flux<T> withDemand(ReadOptions options, Function<Demand, Flux<T>> read) {
+        if (options.memoryBudget() == null) {
+            return read.apply(null);
+        }
+        return Flux.defer(() -> {
+            Demand demand = new Demand();
+            return demand.track(read.apply(demand));
+        });
+    }
+
+    private <T> Flux<T> mapRowGroups(String filePath,
+                                     ReadOptions options,
+                                     UnaryOperator<MessageType> projection,
+                                     Demand demand,
+                                     BiFunction<FileState, PageReadStore, T> rowGroupMapper) {
+        // the file is closed before the completion is propagated, so its metrics are reported by then
+        return Flux.using(
+                        () -> {
+                            FileState state = openFile(filePath, options, projection);
+                            if (demand != null) {
+                                demand.attach(state);
+                            }
+                            return state;
+                        },
+                        state -> Flux.generate((SynchronousSink<T> sink) -> {
+                            final PageReadStore pages;
+                            try {
+                                pages = state.nextRowGroup();
+                            } catch (IOException e) {
+                                sink.error(e);
+                                return;
+                            }
+                            if (pages == null) {
                                 sink.complete();
+                            } else {
+                                sink.next(rowGroupMapper.apply(state, pages));
                             }
-                            return count;
-                        });
-                });
+                        }),
+                        FileState::close)
+                .subscribeOn(options.ioScheduler());
     }
 
-    private static class MapRecordMaterializer extends RecordMaterializer<Map<String, Object>> {
-        private final MapGroupConverter rootConverter;
+    private FileState openFile(String filePath, ReadOptions options, UnaryOperator<MessageType> projection)
+            throws IOException {
+        final FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath);
+        try {
+            final Path path = lease.fileSystem().getPath(filePath);
+            final ParquetMetadataCache cache = options.metadataCache();
+            final ParquetMetadataCache.CachedFile cached;
+            final InputFile source = options.newInputFile(path);
+            InputFile inputFile = source;
+            if (cache != null) {
+                cached = cache.get(path, source, filePath, options.metrics());
+                inputFile = cached.inputFile(source);
+            } else {
+                cached = null;
+            }
+            final ParquetReadOptions readOptions = options.toParquetReadOptions(conf);
+            final ParquetFileReader reader = new ParquetFileReader(inputFile, readOptions);
+            try {
+                MessageType fileSchema = reader.getFooter().getFileMetaData().getSchema();
+                MessageType schema = projection.apply(options.project(fileSchema));
+                reader.setRequestedSchema(schema);
+                MessageColumnIO columnIO = cached != null
+                        ? cached.columnIO(schema)
+                        : new ColumnIOFactory().getColumnIO(schema, fileSchema);
+                String createdBy = reader.getFooter().getFileMetaData().getCreatedBy();
+                List<SelectedRowGroup> rowGroups = selectRowGroups(reader, options);
+                return new FileState(filePath, lease, source, inputFile, reader, readOptions, schema, createdBy,
+                        columnIO, options, rowGroups);
+            } catch (RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
 
-        public MapRecordMaterializer(MessageType schema) {
-            this.rootConverter = new MapGroupConverter(schema);
+    /**
+     * Resolves the row groups to read as indexes in the row groups left by the filter, dropping the empty and
+     * filtered out ones, the ones not selected by {@link ReadOptions#rowGroups()} and the ones outside the row range.
+     */
+    private static List<SelectedRowGroup> selectRowGroups(ParquetFileReader reader, ReadOptions options) {
+        List<BlockMetaData> fileBlocks = reader.getFooter().getBlocks();
+        List<Integer> fileIndexes = options.rowGroups();
+        if (fileIndexes != null && !fileIndexes.isEmpty() && fileIndexes.getLast() >= fileBlocks.size()) {
+            throw new IllegalArgumentException("Row group %d out of range, the file has %d row groups"
+                    .formatted(fileIndexes.getLast(), fileBlocks.size()));
         }
+        // the first row of each row group, in file row numbers
+        Map<BlockMetaData, long[]> positions = new IdentityHashMap<>();
+        long firstRow = 0;
+        for (int i = 0; i < fileBlocks.size(); i++) {
+            positions.put(fileBlocks.get(i), new long[] {i, firstRow});
+            firstRow += fileBlocks.get(i).getRowCount();
+        }
+        Set<Integer> selected = fileIndexes == null ? null : new HashSet<>(fileIndexes);
+        List<BlockMetaData> blocks = reader.getRowGroups();
+        List<SelectedRowGroup> rowGroups = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockMetaData block = blocks.get(i);
+            long[] position = positions.get(block);
+            if (block.getRowCount() == 0 || (selected != null && !selected.contains((int) position[0]))) {
+                continue;
+            }
+            long from = Math.max(options.firstRow() - position[1], 0);
+            long to = Math.min(options.lastRow() - position[1], block.getRowCount());
+            if (from < to) {
+                rowGroups.add(new SelectedRowGroup(i, block.getRowCount(), from, to));
+            }
+        }
+        return rowGroups;
+    }
+
+    private static <T> RowGroup<T> newRowGroup(FileState state, PageReadStore pages, RecordMaterializer<T> materializer) {
+        var recordReader = state.filter() == null
+                ? state.columnIO().getRecordReader(pages, materializer)
+                : state.columnIO().getRecordReader(pages, materializer, state.filter());
+        MeteredPageReadStore metered = pages instanceof MeteredPageReadStore store ? store : null;
+        return new RowGroup<>(state.skippedRows(), state.rowCount(), recordReader, metered, () -> state.release(pages));
+    }
 
-        @Override
-        public Map<String, Object> getCurrentRecord() {
-            return rootConverter.getCurrentRecord();
+    private static <T> Flux<T> readRows(RowGroup<T> rowGroup) {
+        return Flux.generate(sink -> {
+            var record = rowGroup.read();
+            if (record != null) {
+                sink.next(record);
+            } else {
+                sink.complete();
+            }
+        });
+    }
+
+    /**
+     * A row group to read, as an index in the row groups left by the filter, and the rows [firstRow, lastRow) of
+     * the row group to read.
+     */
+    private record SelectedRowGroup(int index, long rowCount, long firstRow, long lastRow) {
+
+        boolean isPartial() {
+            return firstRow > 0 || lastRow < rowCount;
         }
 
-        @Override
-        public GroupConverter getRootConverter() {
-            return rootConverter;
+        /**
+         * The row ranges to read, built from a fake single page offset index as RowRanges has no public constructor.
+         */
+        RowRanges rowRanges() {
+            OffsetIndex range = new OffsetIndex() {
+                @Override
+                public int getPageCount() {
+                    return 1;
+                }
+
+                @Override
+                public long getOffset(int pageIndex) {
+                    return 0;
+                }
+
+                @Override
+                public int getCompressedPageSize(int pageIndex) {
+                    return 0;
+                }
+
+                @Override
+                public long getFirstRowIndex(int pageIndex) {
+                    return firstRow;
+                }
+
+                @Override
+                public long getLastRowIndex(int pageIndex, long rowGroupRowCount) {
+                    return lastRow - 1;
+                }
+            };
+            return RowRanges.create(rowCount, IntStream.of(0).iterator(), range);
         }
     }
 
-    private static class MapGroupConverter extends GroupConverter {
-        private final Map<String, Object> currentRecord;
-        private final List<Converter> converters;
+    /**
+     * The demand of the subscriber of a read, counted down as items are emitted. While none is left the reader
+     * isn't read, and its file {@link FileState#pause(Demand) pauses} its budget reservations: readers consumed
+     * together, a zipped or concatenated one waiting for the other, never wait for budget held by one another.
+     */
+    private static final class Demand {
+        private final AtomicLong requested = new AtomicLong();
+        private volatile FileState state;
+
+        <T> Flux<T> track(Flux<T> items) {
+            return items
+                    .doOnNext(item -> {
+                        if (requested.get() != Long.MAX_VALUE && requested.decrementAndGet() == 0) {
+                            changed();
+                        }
+                    })
+                    .doOnRequest(n -> {
+                        if (requested.getAndUpdate(current -> Operators.addCap(current, n)) == 0) {
+                            changed();
+                        }
+                    });
+        }
+
+        void attach(FileState state) {
+            this.state = state;
+            changed();
+        }
 
-        public MapGroupConverter(MessageType schema) {
-            this.currentRecord = new HashMap<>();
-            this.converters = new ArrayList<>();
+        boolean idle() {
+            return requested.get() == 0;
+        }
 
-            for (Type field : schema.getFields()) {
-                converters.add(createConverter(field, currentRecord));
+        private void changed() {
+            FileState current = state;
+            if (current != null) {
+                current.pause(this);
             }
         }
+    }
+
+    /**
+     * An open file and the row groups left to read. Row groups not selected are never read, and pages outside the
+     * row range are skipped using the offset index. Files without offset index are read whole, the rows outside
+     * the row range being skipped by the readers of the row group, see {@link #skippedRows()}.
+     * <p>
+     * Row groups are fetched ahead of the one being decoded, see {@link ReadOptions.Builder#prefetch(int, long)}.
+     * Fetches are chained one after the other, so that the reader is only used by one thread at a time.
+     * <p>
+     * Each row group reserves its bytes from the {@link ReadOptions#memoryBudget()} before being fetched, on the
+     * fetching thread, and releases them once {@link #release(PageReadStore) released} or the file closed. The
+     * reservations are suspended while the subscriber has no demand left, see {@link #pause(Demand)}.
+     * In {@link ReadOptions#pageStreaming()} mode row groups are returned as {@link StreamingPageReadStore}s,
+     * which read their pages as they are decoded, and aren't prefetched.
+     */
+    private static final class FileState {
+        private final String filePath;
+        private final FileSystemRegistry.Lease lease;
+        private final InputFile inputFile;
+        private final InputFile streamedFile;
+        private final ParquetFileReader reader;
+        private final ParquetReadOptions readOptions;
+        private final MessageType schema;
+        private final String createdBy;
+        private final MessageColumnIO columnIO;
+        private final FilterCompat.Filter filter;
+        private final ReaderMetrics metrics;
+        private final List<SelectedRowGroup> rowGroups;
+        private final Set<ColumnPath> paths = new HashSet<>();
+        private final int prefetchDepth;
+        private final long prefetchBytes;
+        private final boolean streaming;
+        private final MemoryBudget budget;
+        private final Queue<Prefetch> prefetched = new ConcurrentLinkedQueue<>();
+        private final Map<PageReadStore, Fetched> handedOut = new ConcurrentHashMap<>();
+        private final Set<MemoryBudget.Reservation> reservations = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock pauseLock = new ReentrantLock();
+        private boolean paused = false;
+        private CompletableFuture<Fetched> lastFetch = CompletableFuture.completedFuture(null);
+        private long prefetchedBytes = 0;
+        private int next = 0;
+        private long skippedRows = 0;
+        private long rowCount = 0;
 
-        @Override
-        public Converter getConverter(int fieldIndex) {
-            return converters.get(fieldIndex);
+        FileState(String filePath,
+                  FileSystemRegistry.Lease lease,
+                  InputFile inputFile,
+                  InputFile streamedFile,
+                  ParquetFileReader reader,
+                  ParquetReadOptions readOptions,
+                  MessageType schema,
+                  String createdBy,
+                  MessageColumnIO columnIO,
+                  ReadOptions options,
+                  List<SelectedRowGroup> rowGroups) {
+            this.filePath = filePath;
+            this.lease = lease;
+            this.inputFile = inputFile;
+            this.streamedFile = streamedFile;
+            this.reader = reader;
+            this.readOptions = readOptions;
+            this.schema = schema;
+            this.createdBy = createdBy;
+            this.columnIO = columnIO;
+            this.filter = options.filter();
+            this.metrics = options.metrics();
+            this.rowGroups = rowGroups;
+            this.streaming = options.pageStreaming()
+                    && reader.getFooter().getFileMetaData().getEncryptionType() == EncryptionType.UNENCRYPTED;
+            this.budget = options.memoryBudget();
+            this.prefetchDepth = streaming ? 0 : options.prefetchDepth();
+            this.prefetchBytes = options.prefetchBytes();
+            for (ColumnDescriptor column : schema.getColumns()) {
+                paths.add(ColumnPath.get(column.getPath()));
+            }
         }
 
-        @Override
-        public void start() {
-            currentRecord.clear();
+        MessageType schema() {
+            return schema;
         }
 
-        @Override
-        public void end() {
-            // Record is complete
+        String createdBy() {
+            return createdBy;
         }
 
-        public Map<String, Object> getCurrentRecord() {
-            return new HashMap<>(currentRecord);
+        MessageColumnIO columnIO() {
+            return columnIO;
         }
 
-        private Converter createConverter(Type field, Map<String, Object> record) {
-            if (field.isPrimitive()) {
-                return new MapPrimitiveConverter(field.getName(), field.asPrimitiveType(), record);
-            } else {
-                return new MapNestedGroupConverter(field.getName(), field.asGroupType(), record);
-            }
+        FilterCompat.Filter filter() {
+            return filter;
         }
-    }
 
-    private static class MapPrimitiveConverter extends PrimitiveConverter {
-        private final String fieldName;
-        private final PrimitiveType primitiveType;
-        private final Map<String, Object> record;
+        /**
+         * Number of rows of the last row group returned to skip before the rows to read.
+         */
+        long skippedRows() {
+            return skippedRows;
+        }
 
-        public MapPrimitiveConverter(String fieldName, PrimitiveType primitiveType, Map<String, Object> record) {
-            this.fieldName = fieldName;
-            this.primitiveType = primitiveType;
-            this.record = record;
+        /**
+         * Number of rows of the last row group returned to read, after the skipped rows.
+         */
+        long rowCount() {
+            return rowCount;
         }
 
-        @Override
-        public void addBoolean(boolean value) {
-            record.put(fieldName, value);
+        /**
+         * Returns the pages of the next selected row group with rows matching the filter, or null at the end.
+         * The next row groups start being fetched before it is returned, so they are fetched while it's decoded.
+         */
+        PageReadStore nextRowGroup() throws IOException {
+            while (true) {
+                prefetch(true);
+                Prefetch prefetch = prefetched.poll();
+                if (prefetch == null) {
+                    return null;
+                }
+                prefetchedBytes -= prefetch.bytes();
+                prefetch(false);
+                Fetched fetched = await(prefetch.fetched());
+                if (fetched.pages() != null) {
+                    skippedRows = fetched.skippedRows();
+                    rowCount = fetched.rowCount();
+                    PageReadStore pages = fetched.pages();
+                    if (metrics.enabled()) {
+                        metrics.rowGroupRead(filePath, pages.getRowCount(), fetched.fetchNanos());
+                        pages = new MeteredPageReadStore(pages, filePath, metrics);
+                    }
+                    handedOut.put(pages, fetched);
+                    return pages;
+                }
+            }
         }
 
-        @Override
-        public void addInt(int value) {
-            if (primitiveType.getLogicalTypeAnnotation() != null) {
-                switch (primitiveType.getLogicalTypeAnnotation().toString()) {
-                    case "DATE":
-                        // Convert days since epoch to LocalDate
-                        record.put(fieldName, LocalDate.ofEpochDay(value));
-                        return;
-                    case "TIME(MILLIS,true)":
-                    case "TIME(MICROS,true)":
-                        record.put(fieldName, value);
-                        return;
+        /**
+         * Releases a row group returned by {@link #nextRowGroup()} once decoded, giving its bytes back to the budget.
+         */
+        void release(PageReadStore pages) {
+            Fetched fetched = handedOut.remove(pages);
+            if (fetched != null) {
+                fetched.release();
+                if (fetched.reservation() != null) {
+                    reservations.remove(fetched.reservation());
                 }
             }
-            record.put(fieldName, value);
-        }
-
-        @Override
-        public void addLong(long value) {
-            if (primitiveType.getLogicalTypeAnnotation() != null) {
-                String logicalType = primitiveType.getLogicalTypeAnnotation().toString();
-                if (logicalType.startsWith("TIMESTAMP")) {
-                    // Convert timestamp to LocalDateTime
-                    if (logicalType.contains("MILLIS")) {
-                        record.put(fieldName, LocalDateTime.ofEpochSecond(value / 1000,
-                                (int) ((value % 1000) * 1_000_000), ZoneOffset.UTC));
-                    } else if (logicalType.contains("MICROS")) {
-                        record.put(fieldName, LocalDateTime.ofEpochSecond(value / 1_000_000,
-                                (int) ((value % 1_000_000) * 1000), ZoneOffset.UTC));
+        }
+
+        /**
+         * Suspends the budget reservations of the row groups fetched, and of the ones fetched from now on, while the
+         * subscriber has no demand left, and resumes them once it has.
+         */
+        void pause(Demand demand) {
+            pauseLock.lock();
+            try {
+                boolean idle = demand.idle();
+                if (idle == paused) {
+                    return;
+                }
+                paused = idle;
+                for (MemoryBudget.Reservation reservation : reservations) {
+                    if (idle) {
+                        reservation.suspend();
                     } else {
-                        record.put(fieldName, LocalDateTime.ofEpochSecond(value / 1_000_000_000,
-                                (int) (value % 1_000_000_000), ZoneOffset.UTC));
+                        reservation.resume();
                     }
-                    return;
                 }
+            } finally {
+                pauseLock.unlock();
             }
-            record.put(fieldName, value);
         }
 
-        @Override
-        public void addFloat(float value) {
-            record.put(fieldName, value);
+        private void hold(MemoryBudget.Reservation reservation) {
+            pauseLock.lock();
+            try {
+                reservations.add(reservation);
+                if (paused) {
+                    reservation.suspend();
+                }
+            } finally {
+                pauseLock.unlock();
+            }
         }
 
-        @Override
-        public void addDouble(double value) {
-            record.put(fieldName, value);
+        private void closeReservation(MemoryBudget.Reservation reservation) {
+            reservation.close();
+            reservations.remove(reservation);
         }
 
-        @Override
-        public void addBinary(Binary value) {
-            if (primitiveType.getLogicalTypeAnnotation() != null) {
-                String logicalType = primitiveType.getLogicalTypeAnnotation().toString();
-                if (logicalType.startsWith("STRING") || logicalType.equals("UTF8")) {
-                    record.put(fieldName, value.toStringUsingUTF8());
-                    return;
-                } else if (logicalType.startsWith("DECIMAL")) {
-                    byte[] bytes = value.getBytes();
-                    BigInteger bigInteger = new BigInteger(bytes);
-                    record.put(fieldName, new BigDecimal(bigInteger));
+        /**
+         * Closes the file once the fetch in flight, if any, is done, without waiting for it, and releases the row
+         * groups not released yet.
+         */
+        void close() {
+            lastFetch.whenComplete((fetched, error) -> {
+                for (Prefetch prefetch : prefetched) {
+                    if (!prefetch.fetched().isCompletedExceptionally()) {
+                        prefetch.fetched().join().release();
+                    }
+                }
+                handedOut.values().forEach(Fetched::release);
+                handedOut.clear();
+                reservations.clear();
+                try (FileSystemRegistry.Lease ignored = lease) {
+                    reader.close();
+                } catch (IOException e) {
+                    log.warn("Error closing {}: {}", filePath, e.getMessage());
+                } finally {
+                    if (metrics.enabled()) {
+                        NioInputFile.Stats stats = switch (inputFile) {
+                            case NioInputFile nio -> nio.stats();
+                            case MappedNioInputFile mapped -> mapped.stats();
+                            default -> new NioInputFile.Stats(0, 0, 0);
+                        };
+                        metrics.fileRead(filePath, stats.bytesRead(), stats.channelReads());
+                    }
+                }
+            });
+        }
+
+        /**
+         * Starts fetching the next row groups, up to the prefetch depth and bytes. When needed is set, the next
+         * row group is fetched even if it doesn't fit, for lack of any row group fetched.
+         */
+        private void prefetch(boolean needed) {
+            while (next < rowGroups.size()) {
+                SelectedRowGroup rowGroup = rowGroups.get(next);
+                long bytes = fetchedBytes(rowGroup);
+                if (!(needed && prefetched.isEmpty())
+                        && (prefetched.size() >= prefetchDepth || prefetchedBytes + bytes > prefetchBytes)) {
                     return;
                 }
+                next++;
+                prefetchedBytes += bytes;
+                lastFetch = lastFetch.thenApplyAsync(previous -> reserveAndFetch(rowGroup), rowGroupFetchExecutor);
+                prefetched.add(new Prefetch(bytes, lastFetch));
+            }
+        }
+
+        private long fetchedBytes(SelectedRowGroup rowGroup) {
+            long bytes = 0;
+            for (ColumnChunkMetaData column : reader.getRowGroups().get(rowGroup.index()).getColumns()) {
+                if (paths.contains(column.getPath())) {
+                    bytes += column.getTotalSize();
+                }
+            }
+            return bytes;
+        }
+
+        /**
+         * Bytes reserved from the budget for a row group: its compressed column chunks, or a page of each column
+         * when streaming. The pages decompressed as they are decoded come on top of the former.
+         */
+        private long reservedBytes(SelectedRowGroup rowGroup) {
+            if (!streaming) {
+                return fetchedBytes(rowGroup);
+            }
+            long bytes = 0;
+            for (ColumnChunkMetaData column : reader.getRowGroups().get(rowGroup.index()).getColumns()) {
+                if (paths.contains(column.getPath())) {
+                    bytes += StreamingPageReadStore.reservedBytes(column);
+                }
+            }
+            return bytes;
+        }
+
+        private Fetched reserveAndFetch(SelectedRowGroup rowGroup) {
+            final MemoryBudget.Reservation reservation;
+            try {
+                reservation = budget == null ? null : budget.reserve(reservedBytes(rowGroup));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (reservation != null) {
+                hold(reservation);
+            }
+            try {
+                Fetched fetched = fetch(rowGroup).withReservation(reservation);
+                if (fetched.pages() == null && reservation != null) {
+                    closeReservation(reservation);
+                }
+                return fetched;
+            } catch (RuntimeException | Error e) {
+                if (reservation != null) {
+                    closeReservation(reservation);
+                }
+                throw e;
             }
+        }
 
+        private Fetched fetch(SelectedRowGroup rowGroup) {
+            long start = System.nanoTime();
             try {
-                record.put(fieldName, value.toStringUsingUTF8());
-            } catch (Exception e) {
-                record.put(fieldName, value.getBytes());
+                if (streaming) {
+                    // pages aren't skipped without fetching whole chunks, the rows outside the range are skipped
+                    BlockMetaData block = reader.getRowGroups().get(rowGroup.index());
+                    PageReadStore pages = new StreamingPageReadStore(streamedFile, block,
+                            readOptions.getCodecFactory(), readOptions.getAllocator());
+                    return new Fetched(pages, rowGroup.firstRow(), rowGroup.lastRow() - rowGroup.firstRow(),
+                            System.nanoTime() - start, null);
+                }
+                if (!rowGroup.isPartial()) {
+                    PageReadStore pages = reader.readFilteredRowGroup(rowGroup.index());
+                    return new Fetched(pages, 0, pages == null ? 0 : pages.getRowCount(), System.nanoTime() - start, null);
+                }
+                try {
+                    RowRanges rowRanges = rowGroup.rowRanges();
+                    if (filter != null && FilterCompat.isFilteringRequired(filter)) {
+                        ColumnIndexStore columnIndexStore = reader.getColumnIndexStore(rowGroup.index());
+                        rowRanges = RowRanges.intersection(rowRanges,
+                                ColumnIndexFilter.calculateRowRanges(filter, columnIndexStore, paths, rowGroup.rowCount()));
+                    }
+                    PageReadStore pages = reader.readFilteredRowGroup(rowGroup.index(), rowRanges);
+                    return new Fetched(pages, 0, pages == null ? 0 : pages.getRowCount(), System.nanoTime() - start, null);
+                } catch (ColumnIndexStore.MissingOffsetIndexException e) {
+                    // no offset index to skip pages, reads the whole row group and skips the rows outside the range
+                    PageReadStore pages = reader.readFilteredRowGroup(rowGroup.index());
+                    return new Fetched(pages, rowGroup.firstRow(), rowGroup.lastRow() - rowGroup.firstRow(),
+                            System.nanoTime() - start, null);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
 
+        private Fetched await(CompletableFuture<Fetched> fetched) throws IOException {
+            try {
+                return fetched.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fetched.thenAccept(Fetched::release);
+                throw new InterruptedIOException("Interrupted reading %s".formatted(filePath));
+            } catch (ExecutionException e) {
+                switch (e.getCause()) {
+                    case UncheckedIOException io -> throw io.getCause();
+                    case RuntimeException runtime -> throw runtime;
+                    case Error error -> throw error;
+                    default -> throw new IOException("Error reading %s".formatted(filePath), e.getCause());
+                }
+            }
+        }
     }
 
-    private static class MapNestedGroupConverter extends GroupConverter {
-        private final String fieldName;
-        private final Map<String, Object> parentRecord;
-        private final Map<String, Object> nestedRecord;
-        private final List<Converter> converters;
+    /**
+     * A row group being fetched, of bytes compressed bytes.
+     */
+    private record Prefetch(long bytes, CompletableFuture<Fetched> fetched) {}
+
+    /**
+     * The pages of a fetched row group, null when no row matches the filter, with the rows to skip and to read,
+     * and the bytes reserved for it, if any.
+     */
+    private record Fetched(PageReadStore pages, long skippedRows, long rowCount, long fetchNanos,
+                           MemoryBudget.Reservation reservation) {
 
-        public MapNestedGroupConverter(String fieldName, GroupType groupType, Map<String, Object> parentRecord) {
-            this.fieldName = fieldName;
-            this.parentRecord = parentRecord;
-            this.nestedRecord = new HashMap<>();
-            this.converters = new ArrayList<>();
+        Fetched withReservation(MemoryBudget.Reservation reservation) {
+            return new Fetched(pages, skippedRows, rowCount, fetchNanos, reservation);
+        }
 
-            for (Type field : groupType.getFields()) {
-                converters.add(createConverter(field, nestedRecord));
+        void release() {
+            try {
+                if (pages != null) {
+                    pages.close();
+                }
+            } finally {
+                if (reservation != null) {
+                    reservation.close();
+                }
             }
         }
+    }
 
-        @Override
-        public Converter getConverter(int fieldIndex) {
-            return converters.get(fieldIndex);
+    private static class RowGroup<T> {
+        private final long rowCount;
+        private final RecordReader<T> recordReader;
+        private final MeteredPageReadStore metered;
+        private final Runnable onDone;
+        private long skippedRows;
+        private long count = 0;
+        private long decodeNanos = 0;
+        private boolean done = false;
+
+        RowGroup(long skippedRows, long rowCount, RecordReader<T> recordReader, MeteredPageReadStore metered,
+                 Runnable onDone) {
+            this.skippedRows = skippedRows;
+            this.rowCount = rowCount;
+            this.recordReader = recordReader;
+            this.metered = metered;
+            this.onDone = onDone;
         }
 
-        @Override
-        public void start() {
-            nestedRecord.clear();
+        /**
+         * Returns the next record, or null when the row group is exhausted, running onDone the first time.
+         */
+        T read() {
+            final T record;
+            if (metered == null) {
+                record = readRecord();
+            } else {
+                long start = System.nanoTime();
+                record = readRecord();
+                decodeNanos += System.nanoTime() - start;
+                if (record == null) {
+                    metered.report(rowCount, decodeNanos, false);
+                }
+            }
+            if (record == null && !done) {
+                done = true;
+                onDone.run();
+            }
+            return record;
         }
 
-        @Override
-        public void end() {
-            parentRecord.put(fieldName, new HashMap<>(nestedRecord));
+        private T readRecord() {
+            for (; skippedRows > 0; skippedRows--) {
+                recordReader.read();
+            }
+            // filtered out records are read as null, skip them until the next match
+            while (count < rowCount) {
+                count++;
+                var record = recordReader.read();
+                if (record != null && !recordReader.shouldSkipCurrentRecord()) {
+                    return record;
+                }
+            }
+            return null;
         }
 
-        private Converter createConverter(Type field, Map<String, Object> record) {
-            if (field.isPrimitive()) {
-                return new MapPrimitiveConverter(field.getName(), field.asPrimitiveType(), record);
-            } else {
-                return new MapNestedGroupConverter(field.getName(), field.asGroupType(), record);
+        List<T> readAll() {
+            List<T> records = new ArrayList<>((int) Math.min(rowCount, Integer.MAX_VALUE));
+            T record;
+            while ((record = read()) != null) {
+                records.add(record);
             }
+            return records;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Writes a flux of rows to a parquet file of any NIO FileSystem, S3 included.
+ * <p>
+ * Rows are requested {@link WriteOptions#bufferedRows()} at a time and encoded on the scheduler of the options,
+ * so a slow file never buffers more than the rows requested, the row group being encoded and the chunks waiting
+ * to be written. Encoded chunks are written by a background thread while the next row group is encoded, see
+ * {@link NioOutputFile}.
+ */
+public class ReactParquetWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactParquetWriter.class);
+
+    final ParquetConfiguration conf = new PlainParquetConfiguration();
+
+    public Mono<WriteResult> writeParquetFile(Flux<Map<String, Object>> rows, String filePath, MessageType schema) {
+        return writeParquetFile(rows, filePath, schema, WriteOptions.defaults());
+    }
+
+    /**
+     * Writes the rows, keyed by field name, with the given schema. The file is written once the returned Mono is
+     * subscribed, and it is deleted if the rows fail or the subscription is cancelled.
+     */
+    public Mono<WriteResult> writeParquetFile(Flux<Map<String, Object>> rows,
+                                              String filePath,
+                                              MessageType schema,
+                                              WriteOptions options) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> openFile(filePath, schema, options)).subscribeOn(options.scheduler()),
+                file -> rows.publishOn(options.scheduler(), options.bufferedRows())
+                        .doOnNext(file::write)
+                        .then(Mono.fromCallable(file::finish)),
+                file -> Mono.fromRunnable(file.lease()::close),
+                (file, error) -> Mono.fromRunnable(file::abort),
+                file -> Mono.fromRunnable(file::abort));
+    }
+
+    private FileState openFile(String filePath, MessageType schema, WriteOptions options) throws IOException {
+        final FileSystemRegistry.Lease lease = SpiAlternativeUtil.acquireFileSystem(filePath);
+        try {
+            final Path path = lease.fileSystem().getPath(filePath);
+            OutputFile outputFile = new NioOutputFile(path, options.chunkSize(), options.maxPendingChunks());
+            ParquetWriter<Map<String, Object>> writer = new MapWriterBuilder(outputFile, schema, options.extraMetadata())
+                    .withConf(conf)
+                    .withWriteMode(options.overwrite() ? ParquetFileWriter.Mode.OVERWRITE : ParquetFileWriter.Mode.CREATE)
+                    .withCompressionCodec(options.codec())
+                    .withRowGroupSize(options.rowGroupSize())
+                    .withPageSize(options.pageSize())
+                    .withDictionaryPageSize(options.dictionaryPageSize())
+                    .withDictionaryEncoding(options.dictionaryEncoding())
+                    .build();
+            return new FileState(lease, path, filePath, writer);
+        } catch (IOException | RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The file being written. Its methods are synchronized because a cancellation aborts it from the cancelling
+     * thread, possibly while a row is being written.
+     */
+    private record FileState(FileSystemRegistry.Lease lease,
+                             Path path,
+                             String filePath,
+                             ParquetWriter<Map<String, Object>> writer) {
+
+        synchronized void write(Map<String, Object> row) {
+            try {
+                writer.write(row);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        synchronized WriteResult finish() throws IOException {
+            writer.close();
+            ParquetMetadata footer = writer.getFooter();
+            long rowCount = footer.getBlocks().stream().mapToLong(BlockMetaData::getRowCount).sum();
+            return new WriteResult(filePath, rowCount, footer.getBlocks().size());
+        }
+
+        synchronized void abort() {
+            try {
+                writer.close();
+            } catch (IOException | RuntimeException e) {
+                log.debug("Error closing the aborted file {}: {}", filePath, e.getMessage());
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Cannot delete the aborted file {}: {}", filePath, e.getMessage());
+            } finally {
+                lease.close();
+            }
+        }
+    }
+
+    private static final class MapWriterBuilder extends ParquetWriter.Builder<Map<String, Object>, MapWriterBuilder> {
+
+        private final MessageType schema;
+        private final Map<String, String> extraMetadata;
+
+        private MapWriterBuilder(OutputFile file, MessageType schema, Map<String, String> extraMetadata) {
+            super(file);
+            this.schema = schema;
+            this.extraMetadata = extraMetadata;
+        }
+
+        @Override
+        protected MapWriterBuilder self() {
+            return this;
+        }
+
+        // required override, the writer is built with the ParquetConfiguration overload
+        @SuppressWarnings("deprecation")
+        @Override
+        protected WriteSupport<Map<String, Object>> getWriteSupport(Configuration conf) {
+            return new MapWriteSupport(schema, extraMetadata);
+        }
+
+        @Override
+        protected WriteSupport<Map<String, Object>> getWriteSupport(ParquetConfiguration conf) {
+            return new MapWriteSupport(schema, extraMetadata);
+        }
+    }
+}
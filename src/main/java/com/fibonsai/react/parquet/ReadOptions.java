@@ -0,0 +1,519 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Options used by {@link ReactParquetReader} to read a parquet file.
+ */
+public class ReadOptions {
+
+    public static final int DEFAULT_PREFETCH_DEPTH = 1;
+    public static final long DEFAULT_PREFETCH_BYTES = 256L * 1024 * 1024;
+
+    private static final ReadOptions DEFAULTS = builder().build();
+
+    private final List<String> columns;
+    private final MessageType requestedSchema;
+    private final FilterCompat.Filter filter;
+    private final int parallelism;
+    private final Scheduler scheduler;
+    private final boolean vectoredReads;
+    private final boolean memoryMapping;
+    private final int readAheadSize;
+    private final ParquetMetadataCache metadataCache;
+    private final List<Integer> rowGroups;
+    private final long firstRow;
+    private final long lastRow;
+    private final ReaderMetrics metrics;
+    private final int prefetchDepth;
+    private final long prefetchBytes;
+    private final Scheduler ioScheduler;
+    private final boolean pageStreaming;
+    private final MemoryBudget memoryBudget;
+    private final BufferPool bufferPool;
+    private final boolean nullsAsDefaults;
+
+    private ReadOptions(Builder builder) {
+        this.columns = builder.columns;
+        this.requestedSchema = builder.requestedSchema;
+        this.filter = builder.filter;
+        this.parallelism = builder.parallelism;
+        this.scheduler = builder.scheduler;
+        this.vectoredReads = builder.vectoredReads;
+        this.memoryMapping = builder.memoryMapping;
+        this.readAheadSize = builder.readAheadSize;
+        this.metadataCache = builder.metadataCache;
+        this.rowGroups = builder.rowGroups;
+        this.firstRow = builder.firstRow;
+        this.lastRow = builder.lastRow;
+        this.metrics = builder.metrics;
+        this.prefetchDepth = builder.prefetchDepth;
+        this.prefetchBytes = builder.prefetchBytes;
+        this.ioScheduler = builder.ioScheduler;
+        this.pageStreaming = builder.pageStreaming;
+        this.memoryBudget = builder.memoryBudget;
+        this.bufferPool = builder.bufferPool;
+        this.nullsAsDefaults = builder.nullsAsDefaults;
+    }
+
+    public static ReadOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a builder initialized with these options.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.columns = columns;
+        builder.requestedSchema = requestedSchema;
+        builder.filter = filter;
+        builder.parallelism = parallelism;
+        builder.scheduler = scheduler;
+        builder.vectoredReads = vectoredReads;
+        builder.memoryMapping = memoryMapping;
+        builder.readAheadSize = readAheadSize;
+        builder.metadataCache = metadataCache;
+        builder.rowGroups = rowGroups;
+        builder.firstRow = firstRow;
+        builder.lastRow = lastRow;
+        builder.metrics = metrics;
+        builder.prefetchDepth = prefetchDepth;
+        builder.prefetchBytes = prefetchBytes;
+        builder.ioScheduler = ioScheduler;
+        builder.pageStreaming = pageStreaming;
+        builder.memoryBudget = memoryBudget;
+        builder.bufferPool = bufferPool;
+        builder.nullsAsDefaults = nullsAsDefaults;
+        return builder;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public MessageType requestedSchema() {
+        return requestedSchema;
+    }
+
+    public FilterCompat.Filter filter() {
+        return filter;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler == null ? Schedulers.parallel() : scheduler;
+    }
+
+    public boolean vectoredReads() {
+        return vectoredReads;
+    }
+
+    public boolean memoryMapping() {
+        return memoryMapping;
+    }
+
+    public int readAheadSize() {
+        return readAheadSize;
+    }
+
+    public ParquetMetadataCache metadataCache() {
+        return metadataCache;
+    }
+
+    public List<Integer> rowGroups() {
+        return rowGroups;
+    }
+
+    public long firstRow() {
+        return firstRow;
+    }
+
+    public long lastRow() {
+        return lastRow;
+    }
+
+    public ReaderMetrics metrics() {
+        return metrics;
+    }
+
+    public int prefetchDepth() {
+        return prefetchDepth;
+    }
+
+    public long prefetchBytes() {
+        return prefetchBytes;
+    }
+
+    public Scheduler ioScheduler() {
+        return ioScheduler == null ? Schedulers.boundedElastic() : ioScheduler;
+    }
+
+    public boolean pageStreaming() {
+        return pageStreaming;
+    }
+
+    public MemoryBudget memoryBudget() {
+        return memoryBudget;
+    }
+
+    public BufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    public boolean nullsAsDefaults() {
+        return nullsAsDefaults;
+    }
+
+    /**
+     * Resolves the schema to be read, applying the requested schema or column projection, if any. The columns of
+     * the filter are kept, as the filters read the columns left out as nulls.
+     */
+    MessageType project(MessageType fileSchema) {
+        List<String> filterColumns = filterOnlyColumns().stream()
+                .filter(path -> fileSchema.containsPath(path.split("\\.")))
+                .toList();
+        if (requestedSchema != null) {
+            fileSchema.checkContains(requestedSchema);
+            return filterColumns.isEmpty()
+                    ? requestedSchema
+                    : requestedSchema.union(ParquetUtils.projectSchema(fileSchema, filterColumns));
+        }
+        if (columns != null) {
+            return ParquetUtils.projectSchema(fileSchema, Stream.concat(columns.stream(), filterColumns.stream()).toList());
+        }
+        return fileSchema;
+    }
+
+    /**
+     * Dot separated paths of the columns read by the filter that the projection doesn't select.
+     */
+    List<String> filterOnlyColumns() {
+        List<String> filterColumns = filterColumns();
+        if (filterColumns == null || (requestedSchema == null && columns == null)) {
+            return List.of();
+        }
+        return filterColumns.stream()
+                .filter(path -> !selects(path))
+                .toList();
+    }
+
+    /**
+     * Dot separated paths of the columns read by the filter, or null when they aren't known, for filters other
+     * than predicates.
+     */
+    List<String> filterColumns() {
+        if (filter == null) {
+            return List.of();
+        }
+        if (filter instanceof FilterCompat.FilterPredicateCompat predicate) {
+            return List.copyOf(FooterStatistics.filterColumns(predicate.getFilterPredicate()));
+        }
+        return null;
+    }
+
+    private boolean selects(String path) {
+        if (requestedSchema != null) {
+            return requestedSchema.containsPath(path.split("\\."));
+        }
+        return columns.stream().anyMatch(column -> path.equals(column) || path.startsWith(column + "."));
+    }
+
+    InputFile newInputFile(Path path) {
+        if (memoryMapping && path.getFileSystem() == FileSystems.getDefault()) {
+            return new MappedNioInputFile(path);
+        }
+        return new NioInputFile(path, readAheadSize);
+    }
+
+    ParquetReadOptions toParquetReadOptions(ParquetConfiguration conf) {
+        ParquetReadOptions.Builder builder = ParquetReadOptions.builder(conf)
+                .withUseHadoopVectoredIo(vectoredReads);
+        // the pooled codec factories only decompress, which is all the readers of these options ask of them
+        if (bufferPool != null) {
+            // pages are only decompressed into direct buffers of the allocator with the off-heap flag
+            builder.withAllocator(bufferPool)
+                    .withCodecFactory(bufferPool.decompressors())
+                    .useOffHeapDecryptBuffer(bufferPool.isDirect());
+        } else {
+            builder.withCodecFactory(DecompressorPool.heap());
+        }
+        if (filter != null) {
+            builder.withRecordFilter(filter)
+                    .useStatsFilter(true)
+                    .useDictionaryFilter(true)
+                    .useBloomFilter(true)
+                    .useColumnIndexFilter(true)
+                    .useRecordFilter(true);
+        }
+        return builder.build();
+    }
+
+    public static class Builder {
+        private List<String> columns;
+        private MessageType requestedSchema;
+        private FilterCompat.Filter filter;
+        private int parallelism = 1;
+        private Scheduler scheduler;
+        private boolean vectoredReads = true;
+        private boolean memoryMapping = false;
+        private int readAheadSize = NioInputFile.DEFAULT_READ_AHEAD_SIZE;
+        private ParquetMetadataCache metadataCache = ParquetMetadataCache.shared();
+        private List<Integer> rowGroups;
+        private long firstRow = 0;
+        private long lastRow = Long.MAX_VALUE;
+        private ReaderMetrics metrics = ReaderMetrics.NOOP;
+        private int prefetchDepth = DEFAULT_PREFETCH_DEPTH;
+        private long prefetchBytes = DEFAULT_PREFETCH_BYTES;
+        private Scheduler ioScheduler;
+        private boolean pageStreaming = false;
+        private MemoryBudget memoryBudget;
+        private BufferPool bufferPool;
+        private boolean nullsAsDefaults = false;
+
+        private Builder() {}
+
+        /**
+         * Projects the given columns. Nested columns are addressed with dot separated paths (e.g. "address.city").
+         * The columns of the {@link #filter(FilterPredicate) filter} are read too, but left out of the rows read as
+         * maps.
+         */
+        public Builder columns(List<String> columns) {
+            this.columns = columns == null ? null : List.copyOf(columns);
+            return this;
+        }
+
+        /**
+         * Projects the fields of requestedSchema, which must be a subset of the file schema.
+         * Takes precedence over {@link #columns(List)}.
+         * Like with {@link #columns(List)}, the columns of the filter are read too.
+         */
+        public Builder requestedSchema(MessageType requestedSchema) {
+            this.requestedSchema = requestedSchema;
+            return this;
+        }
+
+        /**
+         * Filters rows with a predicate built with {@link org.apache.parquet.filter2.predicate.FilterApi}.
+         * Row groups are pruned using statistics, dictionaries and bloom filters, pages are skipped using
+         * the column index, and the remaining records are filtered before being materialized.
+         */
+        public Builder filter(FilterPredicate predicate) {
+            this.filter = predicate == null ? null : FilterCompat.get(predicate);
+            return this;
+        }
+
+        public Builder filter(FilterCompat.Filter filter) {
+            this.filter = filter == FilterCompat.NOOP ? null : filter;
+            return this;
+        }
+
+        /**
+         * Decodes up to parallelism row groups at once on the given scheduler, still emitting rows in file order.
+         * It is also the maximum number of row groups decoded in memory. The default of 1 decodes row groups one
+         * at a time, as rows are requested.
+         */
+        public Builder parallelism(int parallelism, Scheduler scheduler) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be positive: %d".formatted(parallelism));
+            }
+            this.parallelism = parallelism;
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public Builder parallelism(int parallelism) {
+            return parallelism(parallelism, null);
+        }
+
+        /**
+         * Reads the column chunks of a row group with vectored reads, merging nearby chunks into fewer larger
+         * reads issued concurrently. Enabled by default.
+         */
+        public Builder vectoredReads(boolean vectoredReads) {
+            this.vectoredReads = vectoredReads;
+            return this;
+        }
+
+        /**
+         * Memory maps the files of the default FileSystem instead of reading them through a channel, mapping each
+         * file whole. Disabled by default, remote FileSystems are always read through a channel.
+         */
+        public Builder memoryMapping(boolean memoryMapping) {
+            this.memoryMapping = memoryMapping;
+            return this;
+        }
+
+        /**
+         * Number of bytes read ahead by each channel read of the streams of files that aren't memory mapped.
+         * Larger values mean fewer round trips on remote FileSystems.
+         */
+        public Builder readAheadSize(int readAheadSize) {
+            if (readAheadSize < 1) {
+                throw new IllegalArgumentException("readAheadSize must be positive: %d".formatted(readAheadSize));
+            }
+            this.readAheadSize = readAheadSize;
+            return this;
+        }
+
+        /**
+         * Caches the footers of the files read, so that reopening a file doesn't read its footer again.
+         * Defaults to {@link ParquetMetadataCache#shared()}, null disables caching.
+         */
+        public Builder metadataCache(ParquetMetadataCache metadataCache) {
+            this.metadataCache = metadataCache;
+            return this;
+        }
+
+        /**
+         * Reads only the row groups at the given indexes in the file, in file order. The other row groups are
+         * skipped without reading them. Null, the default, reads all row groups.
+         */
+        public Builder rowGroups(Collection<Integer> rowGroups) {
+            if (rowGroups == null) {
+                this.rowGroups = null;
+                return this;
+            }
+            for (Integer index : rowGroups) {
+                if (index == null || index < 0) {
+                    throw new IllegalArgumentException("Invalid row group index: %s".formatted(index));
+                }
+            }
+            this.rowGroups = List.copyOf(new TreeSet<>(rowGroups));
+            return this;
+        }
+
+        /**
+         * Reads only the rows [firstRow, lastRow) of the file, numbered from 0 in file order. Row groups outside
+         * the range are skipped using their row counts, and pages outside the range using the offset index, so
+         * only the rows in range are decoded. Files written without offset index decode, but don't materialize,
+         * the rows before the range within its first row group. The filter, if any, applies to the rows in range.
+         */
+        public Builder rowRange(long firstRow, long lastRow) {
+            if (firstRow < 0 || lastRow < firstRow) {
+                throw new IllegalArgumentException("Invalid row range: [%d, %d)".formatted(firstRow, lastRow));
+            }
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            return this;
+        }
+
+        /**
+         * Reports the metrics of the files read, see {@link ReaderMetrics}. Defaults to {@link ReaderMetrics#NOOP},
+         * which leaves the reads uninstrumented.
+         */
+        public Builder metrics(ReaderMetrics metrics) {
+            this.metrics = metrics == null ? ReaderMetrics.NOOP : metrics;
+            return this;
+        }
+
+        /**
+         * Fetches the column chunks of up to depth row groups ahead of the row group being decoded, as long as
+         * the fetched row groups not yet decoded fit in maxBytes of compressed column chunks. Row groups are
+         * fetched one at a time on virtual threads. A depth of 0 fetches each row group when it is needed.
+         * Defaults to 1 row group and {@value #DEFAULT_PREFETCH_BYTES} bytes.
+         */
+        public Builder prefetch(int depth, long maxBytes) {
+            if (depth < 0 || maxBytes < 0) {
+                throw new IllegalArgumentException("depth and maxBytes can't be negative: %d, %d"
+                        .formatted(depth, maxBytes));
+            }
+            this.prefetchDepth = depth;
+            this.prefetchBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Scheduler the file is opened on and waited for, so that the subscribing thread never blocks on I/O,
+         * {@link Schedulers#boundedElastic()} by default.
+         */
+        public Builder ioScheduler(Scheduler ioScheduler) {
+            this.ioScheduler = ioScheduler;
+            return this;
+        }
+
+        /**
+         * Reads the pages of each column one at a time as rows are decoded, instead of fetching the column chunks
+         * of a whole row group before its first row, so that only a page per column is held in memory. Meant for
+         * row groups too large to be held in memory, at the cost of a read per page: row groups aren't prefetched,
+         * pages aren't skipped using the column index, and rows are decoded on the {@link #ioScheduler(Scheduler)}.
+         * Encrypted files are read whole regardless. Disabled by default.
+         */
+        public Builder pageStreaming(boolean pageStreaming) {
+            this.pageStreaming = pageStreaming;
+            return this;
+        }
+
+        /**
+         * Budget the row groups are reserved from before being fetched, and released to once decoded, so that
+         * reads wait for memory instead of allocating past it. A row group reserves its compressed column chunks,
+         * or up to 2 MiB per column, the pages held at once, in {@link #pageStreaming(boolean)} mode. A reader whose
+         * subscriber has no demand left gives its reservations back until requested again. Defaults to null, no
+         * budget: pass {@link MemoryBudget#shared()} to bound the readers of the process together.
+         */
+        public Builder memoryBudget(MemoryBudget memoryBudget) {
+            this.memoryBudget = memoryBudget;
+            return this;
+        }
+
+        /**
+         * Takes the buffers the column chunks are read and the pages decompressed into from the pool, which
+         * recycles them once their row group is decoded. With direct buffers, pages are decompressed off-heap.
+         * Pools can be shared by any number of readers. Defaults to null, heap buffers left to the garbage collector.
+         * Decompressors are reused across row groups and files regardless.
+         */
+        public Builder bufferPool(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        /**
+         * Lets the typed reads bind optional columns to primitive members, reading nulls as 0 or false. Disabled
+         * by default: binding an optional column to a primitive member fails, as nulls would be indistinguishable
+         * from zeros, the boxed type of the member reads them as nulls.
+         */
+        public Builder nullsAsDefaults(boolean nullsAsDefaults) {
+            this.nullsAsDefaults = nullsAsDefaults;
+            return this;
+        }
+
+        public ReadOptions build() {
+            return new ReadOptions(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+
+/**
+ * Receives the metrics of the files read by {@link ReactParquetReader}, set with {@link ReadOptions.Builder#metrics}.
+ * All methods do nothing by default, so implementations override the ones they need. They are called from the
+ * reading threads, possibly concurrently for different files, and must be cheap and thread safe.
+ * <p>
+ * With metrics enabled, the fluxes of rows are also named {@link #SEQUENCE_NAME}, so that Reactor's metrics, e.g.
+ * {@code tap(Micrometer.metrics(registry))}, can be applied downstream under that name. {@link #NOOP}, the default,
+ * disables all instrumentation.
+ */
+public interface ReaderMetrics {
+
+    String SEQUENCE_NAME = "reactparquet.read";
+
+    ReaderMetrics NOOP = new ReaderMetrics() {
+        @Override
+        public boolean enabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Whether the reads are instrumented at all.
+     */
+    default boolean enabled() {
+        return true;
+    }
+
+    /**
+     * The footer of a file was looked up in the {@link ParquetMetadataCache}.
+     */
+    default void footerCacheLookup(String filePath, boolean hit) {}
+
+    /**
+     * A file was closed, after bytesRead bytes were read from it with channelReads calls to its channel. Memory
+     * mapped files make no channel calls.
+     */
+    default void fileRead(String filePath, long bytesRead, long channelReads) {}
+
+    /**
+     * The column chunks of a row group were fetched in fetchNanos.
+     */
+    default void rowGroupRead(String filePath, long rowCount, long fetchNanos) {}
+
+    /**
+     * The pages of a column chunk were read: pages pages were decompressed in decompressNanos. decodeNanos is the
+     * time spent decoding the values of the column, decompression included, or -1 for record reads, where the
+     * columns are decoded interleaved, see {@link #rowGroupDecoded}.
+     */
+    default void columnRead(String filePath, ColumnDescriptor column, int pages, long decompressNanos, long decodeNanos) {}
+
+    /**
+     * The rows of a row group were decoded and assembled in decodeNanos, decompression included.
+     */
+    default void rowGroupDecoded(String filePath, long rowCount, long decodeNanos) {}
+
+    /**
+     * The flux of a file terminated after emitting rows rows. demandWaitNanos is the time the reader had no demand
+     * from its subscriber, stalled by backpressure.
+     */
+    default void rowsEmitted(String filePath, long rows, long demandWaitNanos) {}
+}
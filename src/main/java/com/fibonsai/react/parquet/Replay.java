@@ -0,0 +1,219 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Replays rows paced by their event time, at {@link ReplayOptions#speed()} times real time.
+ * <p>
+ * Instead of a timer per row, a single task wakes up once per tick and emits all the rows due since the previous
+ * tick, so the cost per row is a queue poll and a comparison, whatever the rate. Rows are read ahead up to the
+ * prefetch of the options, and the task sleeps until the next row is due when it is more than a tick away. Rows
+ * out of order are emitted as soon as they are reached. The lag of the rows, how late they are emitted after
+ * their due time, is reported by {@link #stats()}: it is at most a tick while the source and the subscriber keep
+ * up, and grows when they don't.
+ * <p>
+ * Rows are buffered, so they must not be reused by the source, as {@link RowView}s are.
+ */
+public final class Replay<T> {
+
+    public record Stats(long emitted, long ticks, long lagNanos, long maxLagNanos) {}
+
+    private final Flux<T> source;
+    private final ToLongFunction<T> eventTimeNanos;
+    private final ReplayOptions options;
+    private final LongAdder emitted = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0);
+    private volatile long lastLag = 0;
+
+    private Replay(Flux<T> source, ToLongFunction<T> eventTimeNanos, ReplayOptions options) {
+        this.source = source;
+        this.eventTimeNanos = eventTimeNanos;
+        this.options = options;
+    }
+
+    /**
+     * Replays the rows of source, eventTimeNanos returning the event time of a row in nanoseconds of any epoch.
+     */
+    public static <T> Replay<T> of(Flux<T> source, ToLongFunction<T> eventTimeNanos, ReplayOptions options) {
+        return new Replay<>(source, eventTimeNanos, options);
+    }
+
+    /**
+     * The paced rows. Each subscription replays the source from its first row, the first row being emitted
+     * at once.
+     */
+    public Flux<T> flux() {
+        if (options.unpaced()) {
+            return source.doOnNext(row -> emitted.increment());
+        }
+        // a single task emits the rows, honoring the demand, so no serialization nor buffering is needed
+        return Flux.push(sink -> new Pacer(sink).start(), FluxSink.OverflowStrategy.IGNORE);
+    }
+
+    /**
+     * Counts of all the subscriptions so far, and the lag of the last row emitted.
+     */
+    public Stats stats() {
+        return new Stats(emitted.sum(), ticks.sum(), lastLag, maxLag.get());
+    }
+
+    /**
+     * Converts a timestamp column value, as read by {@link ReactParquetReader}, to nanoseconds since the epoch.
+     */
+    static long epochNanos(Object value) {
+        return switch (value) {
+            case LocalDateTime dateTime -> ValueType.toEpochUnits(dateTime, 1_000_000_000L);
+            case Instant instant -> ValueType.toEpochUnits(LocalDateTime.ofInstant(instant, ZoneOffset.UTC), 1_000_000_000L);
+            case null -> throw new IllegalArgumentException("Missing timestamp");
+            default -> throw new IllegalArgumentException("Not a timestamp: %s %s"
+                    .formatted(value.getClass().getSimpleName(), value));
+        };
+    }
+
+    private final class Pacer extends BaseSubscriber<T> implements Runnable {
+
+        private final FluxSink<T> sink;
+        private final Queue<T> queue;
+        private final Scheduler.Worker worker = options.scheduler().createWorker();
+        private final long tickNanos = options.tick().toNanos();
+        private final double speed = options.speed();
+        private final int replenish;
+        private volatile boolean done = false;
+        private Throwable error;
+        private long consumed = 0;
+        private long startWall = 0;
+        private long startEvent = 0;
+        private boolean started = false;
+        private T head;
+        private long headDue;
+
+        private Pacer(FluxSink<T> sink) {
+            this.sink = sink;
+            this.queue = Queues.<T>get(options.prefetch()).get();
+            this.replenish = Math.max(1, options.prefetch() - (options.prefetch() >> 2));
+        }
+
+        void start() {
+            sink.onDispose(() -> {
+                dispose();
+                worker.dispose();
+            });
+            source.subscribe(this);
+            worker.schedule(this);
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(options.prefetch());
+        }
+
+        @Override
+        protected void hookOnNext(T row) {
+            queue.offer(row);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            done = true;
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+            done = true;
+        }
+
+        @Override
+        public void run() {
+            if (sink.isCancelled()) {
+                return;
+            }
+            long now = System.nanoTime();
+            ticks.increment();
+            long demand = sink.requestedFromDownstream();
+            long count = 0;
+            long nextDue = now;
+            try {
+                while (count < demand) {
+                    if (head == null) {
+                        head = queue.poll();
+                        if (head == null) {
+                            break;
+                        }
+                        long eventTime = eventTimeNanos.applyAsLong(head);
+                        if (!started) {
+                            started = true;
+                            startWall = now;
+                            startEvent = eventTime;
+                        }
+                        headDue = startWall + (long) ((eventTime - startEvent) / speed);
+                    }
+                    if (headDue > now) {
+                        nextDue = headDue;
+                        break;
+                    }
+                    long lag = now - headDue;
+                    T row = head;
+                    head = null;
+                    count++;
+                    lastLag = lag;
+                    maxLag.accumulate(lag);
+                    sink.next(row);
+                }
+            } catch (RuntimeException e) {
+                emitted.add(count);
+                sink.error(e);
+                return;
+            }
+            emitted.add(count);
+            if (count > 0) {
+                consumed += count;
+                if (consumed >= replenish) {
+                    request(consumed);
+                    consumed = 0;
+                }
+            }
+            boolean finished = done;
+            if (finished && head == null && queue.isEmpty()) {
+                if (error != null) {
+                    sink.error(error);
+                } else {
+                    sink.complete();
+                }
+                return;
+            }
+            // sleeps until the next row is due, or a tick when waiting for rows or demand
+            long delay = Math.max(nextDue - now, tickNanos);
+            worker.schedule(this, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+}
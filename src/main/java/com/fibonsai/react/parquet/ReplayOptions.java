@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Options used by {@link Replay} to emit rows paced by their timestamps.
+ */
+public class ReplayOptions {
+
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(1);
+    public static final int DEFAULT_PREFETCH = 8192;
+
+    private static final ReplayOptions DEFAULTS = builder().build();
+
+    private final ReadOptions readOptions;
+    private final double speed;
+    private final Duration tick;
+    private final int prefetch;
+    private final Scheduler scheduler;
+
+    private ReplayOptions(Builder builder) {
+        this.readOptions = builder.readOptions;
+        this.speed = builder.speed;
+        this.tick = builder.tick;
+        this.prefetch = builder.prefetch;
+        this.scheduler = builder.scheduler;
+    }
+
+    public static ReplayOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ReadOptions readOptions() {
+        return readOptions;
+    }
+
+    public double speed() {
+        return speed;
+    }
+
+    /**
+     * Whether rows are emitted as fast as they are read, without pacing.
+     */
+    public boolean unpaced() {
+        return speed == Double.POSITIVE_INFINITY;
+    }
+
+    public Duration tick() {
+        return tick;
+    }
+
+    public int prefetch() {
+        return prefetch;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler == null ? Schedulers.parallel() : scheduler;
+    }
+
+    public static class Builder {
+        private ReadOptions readOptions = ReadOptions.defaults();
+        private double speed = 1.0;
+        private Duration tick = DEFAULT_TICK;
+        private int prefetch = DEFAULT_PREFETCH;
+        private Scheduler scheduler;
+
+        private Builder() {}
+
+        /**
+         * Options used to read the file replayed.
+         */
+        public Builder readOptions(ReadOptions readOptions) {
+            this.readOptions = readOptions;
+            return this;
+        }
+
+        /**
+         * Replays at speed times real time, 2.0 replaying an hour of rows in 30 minutes. Defaults to real time,
+         * {@link Double#POSITIVE_INFINITY} emits rows as fast as they are read.
+         */
+        public Builder speed(double speed) {
+            if (!(speed > 0)) {
+                throw new IllegalArgumentException("speed must be positive: %s".formatted(speed));
+            }
+            this.speed = speed;
+            return this;
+        }
+
+        public Builder asFastAsPossible() {
+            return speed(Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Rows are emitted in batches, once per tick, all the rows due since the previous tick at once. Shorter
+         * ticks emit rows closer to their due time, at the cost of more wake ups. Defaults to 1 ms.
+         */
+        public Builder tick(Duration tick) {
+            if (tick.isNegative() || tick.isZero()) {
+                throw new IllegalArgumentException("tick must be positive: %s".formatted(tick));
+            }
+            this.tick = tick;
+            return this;
+        }
+
+        /**
+         * Maximum number of rows read ahead of their due time. It should hold more than the rows due in a tick.
+         */
+        public Builder prefetch(int prefetch) {
+            if (prefetch < 1) {
+                throw new IllegalArgumentException("prefetch must be positive: %d".formatted(prefetch));
+            }
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * Scheduler the rows are emitted on, {@link Schedulers#parallel()} by default.
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public ReplayOptions build() {
+            return new ReplayOptions(this);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of the current row, backed by one slot per column that is overwritten in place by every row.
+ * <p>
+ * The same instance is emitted for every row of a row group, so a view is only valid until the next row is requested:
+ * process it synchronously in onNext, and use {@link #copy()} or {@link #toMap()} to keep its values. Operators
+ * that prefetch or buffer rows (publishOn, buffer, collectList...) must not be applied before copying.
+ * <p>
+ * Columns are addressed by index, in schema order, or by their dot separated path (e.g. "address.city").
+ * Integral values, dates and timestamps are read as their raw physical value with {@link #getInt(int)} and
+ * {@link #getLong(int)}, and converted to Java types with {@link #getObject(int)}.
+ */
+public class RowView {
+
+    private final Columns columns;
+    private final boolean[] present;
+    private final long[] longs;
+    private final double[] doubles;
+    private final Binary[] binaries;
+
+    RowView(MessageType schema) {
+        this(Columns.of(schema));
+    }
+
+    private RowView(Columns columns) {
+        this.columns = columns;
+        int size = columns.names().length;
+        this.present = new boolean[size];
+        this.longs = new long[size];
+        this.doubles = new double[size];
+        this.binaries = new Binary[size];
+    }
+
+    private record Columns(String[] names, PrimitiveType[] types, ValueType[] valueTypes, Map<String, Integer> indexes) {
+
+        static Columns of(MessageType schema) {
+            List<ColumnDescriptor> descriptors = ColumnarRowGroup.checkColumns(schema);
+            int size = descriptors.size();
+            String[] names = new String[size];
+            PrimitiveType[] types = new PrimitiveType[size];
+            ValueType[] valueTypes = new ValueType[size];
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                ColumnDescriptor descriptor = descriptors.get(i);
+                names[i] = String.join(".", descriptor.getPath());
+                types[i] = descriptor.getPrimitiveType();
+                valueTypes[i] = ValueType.of(types[i]);
+                indexes.put(names[i], i);
+            }
+            return new Columns(names, types, valueTypes, Map.copyOf(indexes));
+        }
+    }
+
+    public int columnCount() {
+        return present.length;
+    }
+
+    public String columnName(int column) {
+        return columns.names()[column];
+    }
+
+    public PrimitiveType columnType(int column) {
+        return columns.types()[column];
+    }
+
+    /**
+     * Returns the index of the column with the given dot separated path.
+     */
+    public int columnIndex(String name) {
+        Integer index = columns.indexes().get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown column: %s".formatted(name));
+        }
+        return index;
+    }
+
+    public boolean isNull(int column) {
+        return !present[column];
+    }
+
+    public boolean isNull(String name) {
+        return isNull(columnIndex(name));
+    }
+
+    public boolean getBoolean(int column) {
+        return longs[column] != 0;
+    }
+
+    public boolean getBoolean(String name) {
+        return getBoolean(columnIndex(name));
+    }
+
+    public int getInt(int column) {
+        return (int) longs[column];
+    }
+
+    public int getInt(String name) {
+        return getInt(columnIndex(name));
+    }
+
+    public long getLong(int column) {
+        return longs[column];
+    }
+
+    public long getLong(String name) {
+        return getLong(columnIndex(name));
+    }
+
+    public float getFloat(int column) {
+        return (float) doubles[column];
+    }
+
+    public float getFloat(String name) {
+        return getFloat(columnIndex(name));
+    }
+
+    public double getDouble(int column) {
+        return doubles[column];
+    }
+
+    public double getDouble(String name) {
+        return getDouble(columnIndex(name));
+    }
+
+    /**
+     * Returns the raw binary value, only valid until the next row.
+     */
+    public Binary getBinary(int column) {
+        return present[column] ? binaries[column] : null;
+    }
+
+    public Binary getBinary(String name) {
+        return getBinary(columnIndex(name));
+    }
+
+    public String getString(int column) {
+        return present[column] ? binaries[column].toStringUsingUTF8() : null;
+    }
+
+    public String getString(String name) {
+        return getString(columnIndex(name));
+    }
+
+    /**
+     * Returns the value converted to the same Java type as the Map rows of {@link ReactParquetReader}.
+     */
+    public Object getObject(int column) {
+        if (!present[column]) {
+            return null;
+        }
+        ValueType valueType = columns.valueTypes()[column];
+        return switch (valueType) {
+            case BOOLEAN -> getBoolean(column);
+            case INT32 -> getInt(column);
+            case INT64 -> getLong(column);
+            case FLOAT -> getFloat(column);
+            case DOUBLE -> getDouble(column);
+            case DATE -> ValueType.toLocalDate(getInt(column));
+            case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS ->
+                    ValueType.toLocalDateTime(getLong(column), valueType.unitsPerSecond());
+            case INT96_TIMESTAMP -> ValueType.int96ToLocalDateTime(binaries[column]);
+            case DECIMAL -> binaries[column] != null
+                    ? ValueType.toBigDecimal(binaries[column], ValueType.scale(columns.types()[column]))
+                    : BigDecimal.valueOf(getLong(column), ValueType.scale(columns.types()[column]));
+            case STRING -> getString(column);
+            case UUID -> ValueType.toUuid(binaries[column]);
+        };
+    }
+
+    public Object getObject(String name) {
+        return getObject(columnIndex(name));
+    }
+
+    /**
+     * Returns a detached copy of the current row, which stays valid after the next row is read.
+     */
+    public RowView copy() {
+        RowView copy = new RowView(columns);
+        System.arraycopy(present, 0, copy.present, 0, present.length);
+        System.arraycopy(longs, 0, copy.longs, 0, longs.length);
+        System.arraycopy(doubles, 0, copy.doubles, 0, doubles.length);
+        for (int i = 0; i < binaries.length; i++) {
+            // Binary.copy() keeps constant values backed by the page, which is recycled with a buffer pool
+            copy.binaries[i] = present[i] && binaries[i] != null
+                    ? Binary.fromConstantByteArray(binaries[i].getBytes())
+                    : null;
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the non null values of the current row keyed by column path.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < present.length; i++) {
+            if (present[i]) {
+                map.put(columns.names()[i], getObject(i));
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private void clear() {
+        Arrays.fill(present, false);
+        Arrays.fill(binaries, null);
+    }
+
+    /**
+     * Materializer overwriting the slots of a single view for every record.
+     */
+    static final class Materializer extends RecordMaterializer<RowView> {
+        private final RowView view;
+        private final GroupConverter root;
+
+        Materializer(MessageType schema) {
+            this.view = new RowView(schema);
+            this.root = new ViewGroupConverter(schema, view, new int[]{0}, true);
+        }
+
+        @Override
+        public RowView getCurrentRecord() {
+            return view;
+        }
+
+        @Override
+        public GroupConverter getRootConverter() {
+            return root;
+        }
+    }
+
+    private static final class ViewGroupConverter extends GroupConverter {
+        private final RowView view;
+        private final boolean root;
+        private final Converter[] converters;
+
+        ViewGroupConverter(GroupType groupType, RowView view, int[] nextColumn, boolean root) {
+            this.view = view;
+            this.root = root;
+            this.converters = new Converter[groupType.getFieldCount()];
+            for (int i = 0; i < converters.length; i++) {
+                Type field = groupType.getType(i);
+                converters[i] = field.isPrimitive()
+                        ? new SlotConverter(view, nextColumn[0]++)
+                        : new ViewGroupConverter(field.asGroupType(), view, nextColumn, false);
+            }
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+            if (root) {
+                view.clear();
+            }
+        }
+
+        @Override
+        public void end() {
+        }
+    }
+
+    private static final class SlotConverter extends PrimitiveConverter {
+        private final boolean[] present;
+        private final long[] longs;
+        private final double[] doubles;
+        private final Binary[] binaries;
+        private final int column;
+
+        SlotConverter(RowView view, int column) {
+            this.present = view.present;
+            this.longs = view.longs;
+            this.doubles = view.doubles;
+            this.binaries = view.binaries;
+            this.column = column;
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+            longs[column] = value ? 1 : 0;
+            present[column] = true;
+        }
+
+        @Override
+        public void addInt(int value) {
+            longs[column] = value;
+            present[column] = true;
+        }
+
+        @Override
+        public void addLong(long value) {
+            longs[column] = value;
+            present[column] = true;
+        }
+
+        @Override
+        public void addFloat(float value) {
+            doubles[column] = value;
+            present[column] = true;
+        }
+
+        @Override
+        public void addDouble(double value) {
+            doubles[column] = value;
+            present[column] = true;
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            binaries[column] = value;
+            present[column] = true;
+        }
+    }
+}
@@ -30,28 +30,22 @@ public class SpiAlternativeUtil {
 
     private static final Logger log = LoggerFactory.getLogger(SpiAlternativeUtil.class);
 
+    private static volatile FileSystemRegistry registry =
+            new FileSystemRegistry(SpiAlternativeUtil::newFileSystem, FileSystemRegistry.DEFAULT_IDLE_TIMEOUT);
+
+    /**
+     * Returns the FileSystem of uriStr. S3 FileSystems are created for the caller, which owns them, outside of
+     * the pool of {@link #acquireFileSystem(String)}.
+     *
+     * @deprecated creates a new S3 FileSystem for every call, use {@link #acquireFileSystem(String)} instead.
+     */
+    @Deprecated
     public static FileSystem getFileSystem(String uriStr) {
-        if (uriStr == null) {
-            throw new IllegalArgumentException("uri is null");
-        }
-        URI uri = URI.create(uriStr);
-        String scheme = Optional.ofNullable(uri.getScheme()).orElse("file");
+        URI uri = toUri(uriStr);
+        String scheme = scheme(uri);
         try {
             return switch (scheme) {
-                case "s3" -> {
-                    var provider = new S3FileSystemProvider();
-                    String bucket = uri.getAuthority();
-                    yield provider.getFileSystem(new URI(scheme, bucket, null, null, null));
-                }
-                case "s3x" -> {
-                    var provider = new S3XFileSystemProvider();
-                    String userInfo = uri.getUserInfo();
-                    String host = uri.getHost();
-                    int port = uri.getPort();
-                    String[] pathSplit = uri.getPath().split("/");
-                    String bucket = pathSplit.length > 0 ? pathSplit[0] : null;
-                    yield provider.getFileSystem(new URI(scheme, userInfo, host, port, bucket, null, null));
-                }
+                case "s3", "s3x" -> newFileSystem(root(uri, scheme));
                 case "file" -> FileSystems.getDefault();
                 default -> Path.of(uri).getFileSystem();
             };
@@ -61,4 +55,68 @@ public class SpiAlternativeUtil {
         log.warn("URI Schema problem. Fallback to 'file:/'");
         return FileSystems.getDefault();
     }
+
+    /**
+     * Leases the FileSystem of uriStr, which must be released by closing the lease once done with it.
+     */
+    public static FileSystemRegistry.Lease acquireFileSystem(String uriStr) {
+        URI uri = toUri(uriStr);
+        String scheme = scheme(uri);
+        try {
+            return switch (scheme) {
+                case "s3", "s3x" -> registry.acquire(root(uri, scheme));
+                case "file" -> FileSystemRegistry.Lease.unpooled(FileSystems.getDefault());
+                default -> FileSystemRegistry.Lease.unpooled(Path.of(uri).getFileSystem());
+            };
+        } catch (URISyntaxException ex) {
+            log.error(ex.getMessage());
+        }
+        log.warn("URI Schema problem. Fallback to 'file:/'");
+        return FileSystemRegistry.Lease.unpooled(FileSystems.getDefault());
+    }
+
+    private static URI toUri(String uriStr) {
+        if (uriStr == null) {
+            throw new IllegalArgumentException("uri is null");
+        }
+        return URI.create(uriStr);
+    }
+
+    private static String scheme(URI uri) {
+        return Optional.ofNullable(uri.getScheme()).orElse("file");
+    }
+
+    /**
+     * The root URI of the S3 FileSystem of uri: its bucket, with the credentials and endpoint for s3x.
+     */
+    private static URI root(URI uri, String scheme) throws URISyntaxException {
+        if (scheme.equals("s3")) {
+            return new URI(scheme, uri.getAuthority(), null, null, null);
+        }
+        String[] pathSplit = uri.getPath().split("/");
+        String bucket = pathSplit.length > 0 ? pathSplit[0] : null;
+        return new URI(scheme, uri.getUserInfo(), uri.getHost(), uri.getPort(), bucket, null, null);
+    }
+
+    public static FileSystemRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Replaces the registry of S3 FileSystems, closing the previous one. Mostly meant for tests, to plug
+     * a fake FileSystem factory.
+     */
+    public static void setRegistry(FileSystemRegistry registry) {
+        FileSystemRegistry previous = SpiAlternativeUtil.registry;
+        SpiAlternativeUtil.registry = registry;
+        previous.close();
+    }
+
+    static FileSystem newFileSystem(URI root) {
+        return switch (root.getScheme()) {
+            case "s3" -> new S3FileSystemProvider().getFileSystem(root);
+            case "s3x" -> new S3XFileSystemProvider().getFileSystem(root);
+            default -> throw new IllegalArgumentException("Unsupported scheme: %s".formatted(root));
+        };
+    }
 }
@@ -0,0 +1,326 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.compression.CompressionCodecFactory;
+import org.apache.parquet.format.DataPageHeader;
+import org.apache.parquet.format.DataPageHeaderV2;
+import org.apache.parquet.format.DictionaryPageHeader;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.ParquetDecodingException;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The pages of a row group read one at a time, as the column readers ask for them, instead of fetching whole
+ * column chunks up front. Only the current page of each column is held in memory, compressed and decompressed.
+ * The columns share a stream of the file, positioned at the page to read, and are read by a single thread.
+ * Encrypted files are not supported.
+ * <p>
+ * Data pages are read and decompressed into buffers of the allocator, released two pages later, as the values of
+ * the row being read may still reference the previous page, or when the store is closed.
+ */
+final class StreamingPageReadStore implements PageReadStore {
+
+    /**
+     * Memory estimate of the pages of a column held at once, the current and previous decompressed pages of the
+     * default page size.
+     */
+    static final long STREAMED_COLUMN_BYTES = 2L * 1024 * 1024;
+
+    private static final ParquetMetadataConverter converter = new ParquetMetadataConverter();
+
+    private final InputFile inputFile;
+    private final BlockMetaData block;
+    private final CompressionCodecFactory codecFactory;
+    private final ByteBufferAllocator allocator;
+    private final Map<ColumnPath, ColumnChunkMetaData> chunks = new HashMap<>();
+    private final List<ColumnPages> readers = new ArrayList<>();
+    private SeekableInputStream stream;
+
+    StreamingPageReadStore(InputFile inputFile, BlockMetaData block, CompressionCodecFactory codecFactory,
+                           ByteBufferAllocator allocator) {
+        this.inputFile = inputFile;
+        this.block = block;
+        this.codecFactory = codecFactory;
+        this.allocator = allocator;
+        for (ColumnChunkMetaData chunk : block.getColumns()) {
+            chunks.put(chunk.getPath(), chunk);
+        }
+    }
+
+    /**
+     * Memory reserved to stream the chunk of a column, never more than the chunk itself.
+     */
+    static long reservedBytes(ColumnChunkMetaData chunk) {
+        return Math.min(chunk.getTotalSize() + chunk.getTotalUncompressedSize(), STREAMED_COLUMN_BYTES);
+    }
+
+    @Override
+    public PageReader getPageReader(ColumnDescriptor descriptor) {
+        ColumnChunkMetaData chunk = chunks.get(ColumnPath.get(descriptor.getPath()));
+        if (chunk == null) {
+            throw new ParquetDecodingException("Column %s not found in the row group"
+                    .formatted(String.join(".", descriptor.getPath())));
+        }
+        ColumnPages reader = new ColumnPages(chunk);
+        readers.add(reader);
+        return reader;
+    }
+
+    @Override
+    public long getRowCount() {
+        return block.getRowCount();
+    }
+
+    @Override
+    public Optional<Long> getRowIndexOffset() {
+        return Optional.of(block.getRowIndexOffset());
+    }
+
+    @Override
+    public void close() {
+        readers.forEach(ColumnPages::release);
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new ParquetDecodingException("Error closing %s".formatted(inputFile), e);
+            } finally {
+                stream = null;
+            }
+        }
+    }
+
+    private SeekableInputStream stream(long position) throws IOException {
+        if (stream == null) {
+            stream = inputFile.newStream();
+        }
+        stream.seek(position);
+        return stream;
+    }
+
+    private final class ColumnPages implements PageReader {
+        private final ColumnChunkMetaData chunk;
+        private final PrimitiveType type;
+        private final CompressionCodecFactory.BytesInputDecompressor decompressor;
+        private final long end;
+        private long position;
+        private long valuesRead = 0;
+        // header read looking for the dictionary page, when the chunk has none
+        private PageHeader pending;
+        private List<ByteBuffer> currentBuffers = List.of();
+        private List<ByteBuffer> previousBuffers = List.of();
+
+        private ColumnPages(ColumnChunkMetaData chunk) {
+            this.chunk = chunk;
+            this.type = chunk.getPrimitiveType();
+            this.decompressor = codecFactory.getDecompressor(chunk.getCodec());
+            this.position = chunk.getStartingPos();
+            this.end = chunk.getStartingPos() + chunk.getTotalSize();
+        }
+
+        @Override
+        public DictionaryPage readDictionaryPage() {
+            try {
+                PageHeader header = nextHeader();
+                if (header == null || header.getType() != PageType.DICTIONARY_PAGE) {
+                    pending = header;
+                    return null;
+                }
+                DictionaryPageHeader dictionaryHeader = header.getDictionary_page_header();
+                BytesInput bytes = decompressor.decompress(readBytes(header.getCompressed_page_size()),
+                        header.getUncompressed_page_size());
+                return new DictionaryPage(bytes, header.getUncompressed_page_size(), dictionaryHeader.getNum_values(),
+                        encoding(dictionaryHeader.getEncoding()));
+            } catch (IOException e) {
+                throw new ParquetDecodingException("Can't read the dictionary page of %s".formatted(chunk.getPath()), e);
+            }
+        }
+
+        @Override
+        public long getTotalValueCount() {
+            return chunk.getValueCount();
+        }
+
+        @Override
+        public DataPage readPage() {
+            try {
+                while (valuesRead < chunk.getValueCount()) {
+                    PageHeader header = pending != null ? pending : nextHeader();
+                    pending = null;
+                    if (header == null) {
+                        return null;
+                    }
+                    switch (header.getType()) {
+                        case DATA_PAGE -> {
+                            return dataPageV1(header);
+                        }
+                        case DATA_PAGE_V2 -> {
+                            return dataPageV2(header);
+                        }
+                        // dictionary pages are only expected first, index pages aren't used
+                        default -> position += header.getCompressed_page_size();
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                throw new ParquetDecodingException("Can't read a page of %s".formatted(chunk.getPath()), e);
+            }
+        }
+
+        private DataPage dataPageV1(PageHeader header) throws IOException {
+            DataPageHeader dataHeader = header.getData_page_header();
+            ByteBuffer page = decompress(readBuffer(header.getCompressed_page_size()), header.getUncompressed_page_size());
+            hold(page);
+            valuesRead += dataHeader.getNum_values();
+            return new DataPageV1(BytesInput.from(page), dataHeader.getNum_values(), header.getUncompressed_page_size(),
+                    Statistics.createStats(type),
+                    encoding(dataHeader.getRepetition_level_encoding()),
+                    encoding(dataHeader.getDefinition_level_encoding()),
+                    encoding(dataHeader.getEncoding()));
+        }
+
+        private DataPage dataPageV2(PageHeader header) throws IOException {
+            DataPageHeaderV2 dataHeader = header.getData_page_header_v2();
+            int repetitionLength = dataHeader.getRepetition_levels_byte_length();
+            int definitionLength = dataHeader.getDefinition_levels_byte_length();
+            int levelsLength = repetitionLength + definitionLength;
+            ByteBuffer page = readBuffer(header.getCompressed_page_size());
+            ByteBuffer data = page.slice(levelsLength, page.remaining() - levelsLength);
+            if (dataHeader.isIs_compressed() && chunk.getCodec() != CompressionCodecName.UNCOMPRESSED) {
+                ByteBuffer decompressed = allocator.allocate(header.getUncompressed_page_size() - levelsLength);
+                try {
+                    decompress(data, decompressed);
+                } catch (IOException | RuntimeException e) {
+                    allocator.release(decompressed);
+                    allocator.release(page);
+                    throw e;
+                }
+                data = decompressed;
+                hold(page, decompressed);
+            } else {
+                hold(page);
+            }
+            valuesRead += dataHeader.getNum_values();
+            return DataPageV2.uncompressed(dataHeader.getNum_rows(), dataHeader.getNum_nulls(),
+                    dataHeader.getNum_values(),
+                    BytesInput.from(page.slice(0, repetitionLength)),
+                    BytesInput.from(page.slice(repetitionLength, definitionLength)),
+                    encoding(dataHeader.getEncoding()), BytesInput.from(data), Statistics.createStats(type));
+        }
+
+        private PageHeader nextHeader() throws IOException {
+            if (position >= end) {
+                return null;
+            }
+            SeekableInputStream input = stream(position);
+            PageHeader header = Util.readPageHeader(input);
+            position = input.getPos();
+            return header;
+        }
+
+        /**
+         * Decompresses the page into a buffer of the allocator, releasing the compressed page.
+         */
+        private ByteBuffer decompress(ByteBuffer compressed, int uncompressedSize) throws IOException {
+            if (chunk.getCodec() == CompressionCodecName.UNCOMPRESSED) {
+                return compressed;
+            }
+            ByteBuffer decompressed = allocator.allocate(uncompressedSize);
+            try {
+                decompress(compressed, decompressed);
+                return decompressed;
+            } catch (IOException | RuntimeException e) {
+                allocator.release(decompressed);
+                throw e;
+            } finally {
+                allocator.release(compressed);
+            }
+        }
+
+        private void decompress(ByteBuffer compressed, ByteBuffer decompressed) throws IOException {
+            int uncompressedSize = decompressed.remaining();
+            decompressor.decompress(compressed, compressed.remaining(), decompressed, uncompressedSize);
+            decompressed.position(0).limit(uncompressedSize);
+        }
+
+        private ByteBuffer readBuffer(int length) throws IOException {
+            ByteBuffer buffer = allocator.allocate(length);
+            try {
+                stream(position).readFully(buffer);
+            } catch (IOException | RuntimeException e) {
+                allocator.release(buffer);
+                throw e;
+            }
+            position += length;
+            return buffer.flip();
+        }
+
+        /**
+         * Holds the buffers of the page read, releasing the ones of the page before the previous one.
+         */
+        private void hold(ByteBuffer... buffers) {
+            previousBuffers.forEach(allocator::release);
+            previousBuffers = currentBuffers;
+            currentBuffers = List.of(buffers);
+        }
+
+        private void release() {
+            previousBuffers.forEach(allocator::release);
+            currentBuffers.forEach(allocator::release);
+            previousBuffers = List.of();
+            currentBuffers = List.of();
+        }
+
+        private BytesInput readBytes(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            stream(position).readFully(bytes);
+            position += length;
+            return BytesInput.from(bytes);
+        }
+
+        private static Encoding encoding(org.apache.parquet.format.Encoding encoding) {
+            return converter.getEncoding(encoding);
+        }
+    }
+}
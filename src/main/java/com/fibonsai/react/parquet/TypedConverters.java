@@ -0,0 +1,725 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Converters materializing parquet records straight into Java records or POJOs.
+ * <p>
+ * Columns are bound to record components or fields by name, ignoring case and underscores, so "first_name"
+ * binds to firstName. The binding of a schema and class pair is resolved once and cached: values are written
+ * into primitive slots by specialized converters and handed to the constructor or the field setters through
+ * method handles, so primitive values are never boxed and no reflection happens per row.
+ * Nested groups bind to nested records or POJOs, repeated fields are not supported. Optional columns only bind
+ * to primitive members when their nulls are read as defaults.
+ */
+final class TypedConverters {
+
+    private static final int MAX_CACHED_BINDINGS = 128;
+
+    private static final Map<BindingKey, Binding<?>> bindings = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BindingKey, Binding<?>> eldest) {
+                    return size() > MAX_CACHED_BINDINGS;
+                }
+            });
+
+    private record BindingKey(GroupType schema, Class<?> type, boolean nullsAsDefaults) {}
+
+    private TypedConverters() {}
+
+    @SuppressWarnings("unchecked")
+    static <T> Binding<T> bind(GroupType schema, Class<T> type, boolean nullsAsDefaults) {
+        BindingKey key = new BindingKey(schema, type, nullsAsDefaults);
+        Binding<?> binding = bindings.get(key);
+        if (binding == null) {
+            // built outside of the map, nested groups are bound recursively
+            binding = new Binding<>(schema, type, nullsAsDefaults);
+            Binding<?> previous = bindings.putIfAbsent(key, binding);
+            if (previous != null) {
+                binding = previous;
+            }
+        }
+        return (Binding<T>) binding;
+    }
+
+    /**
+     * Projects the file schema to the columns bound by the class, so unused column chunks aren't read, and to the
+     * unbound columns of the schema read anyway, like those of a filter.
+     */
+    static MessageType project(MessageType schema, Class<?> type, List<String> unboundColumns) {
+        List<String> paths = new ArrayList<>();
+        collectBoundPaths(schema, type, "", paths);
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("No column of schema %s binds to %s".formatted(schema.getName(), type.getName()));
+        }
+        for (String column : unboundColumns) {
+            if (schema.containsPath(column.split("\\."))) {
+                paths.add(column);
+            }
+        }
+        return ParquetUtils.projectSchema(schema, paths);
+    }
+
+    private static void collectBoundPaths(GroupType schema, Class<?> type, String prefix, List<String> paths) {
+        Map<String, Class<?>> members = members(type);
+        for (Type field : schema.getFields()) {
+            Class<?> memberType = members.get(normalize(field.getName()));
+            if (memberType == null) {
+                continue;
+            }
+            String path = prefix + field.getName();
+            if (field.isPrimitive()) {
+                paths.add(path);
+            } else {
+                collectBoundPaths(field.asGroupType(), memberType, path + ".", paths);
+            }
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Record components or instance fields of the class, keyed by normalized name, in declaration order.
+     */
+    private static Map<String, Class<?>> members(Class<?> type) {
+        Map<String, Class<?>> members = new LinkedHashMap<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                members.put(normalize(component.getName()), component.getType());
+            }
+        } else {
+            for (Field field : instanceFields(type)) {
+                members.putIfAbsent(normalize(field.getName()), field.getType());
+            }
+        }
+        return members;
+    }
+
+    private static List<Field> instanceFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !Modifier.isFinal(modifiers)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Values of the record being read, one array per primitive kind.
+     */
+    static final class Slots {
+        final boolean[] booleans;
+        final int[] ints;
+        final long[] longs;
+        final float[] floats;
+        final double[] doubles;
+        final Object[] refs;
+
+        Slots(int[] counts) {
+            this.booleans = new boolean[counts[SlotKind.BOOLEAN.ordinal()]];
+            this.ints = new int[counts[SlotKind.INT.ordinal()]];
+            this.longs = new long[counts[SlotKind.LONG.ordinal()]];
+            this.floats = new float[counts[SlotKind.FLOAT.ordinal()]];
+            this.doubles = new double[counts[SlotKind.DOUBLE.ordinal()]];
+            this.refs = new Object[counts[SlotKind.REF.ordinal()]];
+        }
+
+        void clear() {
+            Arrays.fill(booleans, false);
+            Arrays.fill(ints, 0);
+            Arrays.fill(longs, 0L);
+            Arrays.fill(floats, 0f);
+            Arrays.fill(doubles, 0d);
+            Arrays.fill(refs, null);
+        }
+    }
+
+    private enum SlotKind {
+        BOOLEAN(boolean[].class, "booleans"),
+        INT(int[].class, "ints"),
+        LONG(long[].class, "longs"),
+        FLOAT(float[].class, "floats"),
+        DOUBLE(double[].class, "doubles"),
+        REF(Object[].class, "refs");
+
+        private final Class<?> arrayType;
+        private final String fieldName;
+
+        SlotKind(Class<?> arrayType, String fieldName) {
+            this.arrayType = arrayType;
+            this.fieldName = fieldName;
+        }
+
+        static SlotKind of(Class<?> type) {
+            if (type == boolean.class) {
+                return BOOLEAN;
+            } else if (type == int.class || type == short.class || type == byte.class || type == char.class) {
+                return INT;
+            } else if (type == long.class) {
+                return LONG;
+            } else if (type == float.class) {
+                return FLOAT;
+            } else if (type == double.class) {
+                return DOUBLE;
+            }
+            return REF;
+        }
+
+        /**
+         * Handle of type (Slots)memberType reading the slot at the given index.
+         */
+        MethodHandle getter(int index, Class<?> memberType) throws ReflectiveOperationException {
+            MethodHandle array = MethodHandles.lookup().findGetter(Slots.class, fieldName, arrayType);
+            MethodHandle element = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(arrayType), 1, index);
+            MethodHandle getter = MethodHandles.filterArguments(element, 0, array);
+            return MethodHandles.explicitCastArguments(getter, MethodType.methodType(memberType, Slots.class));
+        }
+    }
+
+    /**
+     * Compiled binding of a schema to a class.
+     */
+    static final class Binding<T> {
+        private final Class<T> type;
+        private final GroupType schema;
+        private final int[] slotCounts = new int[SlotKind.values().length];
+        private final List<Member> members = new ArrayList<>();
+        private final MethodHandle factory;
+        private final MethodHandle[] setters;
+
+        private record Member(int fieldIndex, Type field, Class<?> memberType, SlotKind kind, int slot, Binding<?> nested) {}
+
+        private Binding(GroupType schema, Class<T> type, boolean nullsAsDefaults) {
+            this.type = type;
+            this.schema = schema;
+            Map<String, Class<?>> memberTypes = members(type);
+            Map<String, Member> membersByName = new LinkedHashMap<>();
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                Type field = schema.getType(i);
+                String name = normalize(field.getName());
+                Class<?> memberType = memberTypes.get(name);
+                if (memberType == null) {
+                    continue;
+                }
+                if (field.isRepetition(Type.Repetition.REPEATED)) {
+                    throw new IllegalArgumentException("Repeated field %s can't be bound to %s"
+                            .formatted(field.getName(), type.getName()));
+                }
+                Binding<?> nested = null;
+                if (field.isPrimitive()) {
+                    checkCompatible(field.asPrimitiveType(), memberType, type);
+                } else {
+                    nested = bind(field.asGroupType(), memberType, nullsAsDefaults);
+                }
+                if (memberType.isPrimitive() && field.isRepetition(Type.Repetition.OPTIONAL) && !nullsAsDefaults) {
+                    throw new IllegalArgumentException(("Optional column %s can't be bound to %s %s.%s, as its nulls "
+                            + "would read as %s: use %s, or ReadOptions.nullsAsDefaults")
+                            .formatted(field.getName(), memberType.getSimpleName(), type.getSimpleName(), field.getName(),
+                                    memberType == boolean.class ? "false" : "0",
+                                    MethodType.methodType(memberType).wrap().returnType().getSimpleName()));
+                }
+                SlotKind kind = SlotKind.of(memberType);
+                Member member = new Member(i, field, memberType, kind, slotCounts[kind.ordinal()]++, nested);
+                members.add(member);
+                membersByName.put(name, member);
+            }
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                if (type.isRecord()) {
+                    this.factory = recordFactory(lookup, type, membersByName);
+                    this.setters = new MethodHandle[0];
+                } else {
+                    this.factory = lookup.findConstructor(type, MethodType.methodType(void.class))
+                            .asType(MethodType.methodType(Object.class));
+                    this.setters = pojoSetters(lookup, type, membersByName);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Can't bind %s: %s".formatted(type.getName(), e.getMessage()), e);
+            }
+        }
+
+        private static MethodHandle recordFactory(MethodHandles.Lookup lookup,
+                                                  Class<?> type,
+                                                  Map<String, Member> membersByName) throws ReflectiveOperationException {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] componentTypes = new Class<?>[components.length];
+            MethodHandle[] getters = new MethodHandle[components.length];
+            for (int i = 0; i < components.length; i++) {
+                componentTypes[i] = components[i].getType();
+                Member member = membersByName.get(normalize(components[i].getName()));
+                getters[i] = member != null
+                        ? member.kind().getter(member.slot(), componentTypes[i])
+                        : MethodHandles.dropArguments(MethodHandles.zero(componentTypes[i]), 0, Slots.class);
+            }
+            MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, componentTypes));
+            MethodHandle filtered = MethodHandles.filterArguments(constructor, 0, getters);
+            MethodHandle factory = MethodHandles.permuteArguments(filtered,
+                    MethodType.methodType(type, Slots.class), new int[components.length]);
+            return factory.asType(MethodType.methodType(Object.class, Slots.class));
+        }
+
+        private static MethodHandle[] pojoSetters(MethodHandles.Lookup lookup,
+                                                  Class<?> type,
+                                                  Map<String, Member> membersByName) throws ReflectiveOperationException {
+            List<MethodHandle> setters = new ArrayList<>();
+            for (Field field : instanceFields(type)) {
+                Member member = membersByName.remove(normalize(field.getName()));
+                if (member == null) {
+                    continue;
+                }
+                MethodHandle setter = MethodHandles.privateLookupIn(field.getDeclaringClass(), lookup).unreflectSetter(field);
+                MethodHandle bound = MethodHandles.filterArguments(setter, 1, member.kind().getter(member.slot(), field.getType()));
+                setters.add(bound.asType(MethodType.methodType(void.class, Object.class, Slots.class)));
+            }
+            return setters.toArray(new MethodHandle[0]);
+        }
+
+        private static void checkCompatible(PrimitiveType column, Class<?> memberType, Class<?> type) {
+            ValueType valueType = ValueType.of(column);
+            boolean compatible = switch (valueType) {
+                case BOOLEAN -> memberType == boolean.class || memberType == Boolean.class;
+                case INT32 -> memberType == int.class || memberType == long.class || memberType == short.class
+                        || memberType == byte.class || memberType == double.class
+                        || memberType == Integer.class || memberType == Number.class;
+                case INT64 -> memberType == long.class || memberType == double.class
+                        || memberType == Long.class || memberType == Number.class;
+                case FLOAT -> memberType == float.class || memberType == double.class
+                        || memberType == Float.class || memberType == Number.class;
+                case DOUBLE -> memberType == double.class || memberType == Double.class || memberType == Number.class;
+                case DATE -> memberType == LocalDate.class || memberType == int.class;
+                case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS ->
+                        memberType == LocalDateTime.class || memberType == long.class;
+                case INT96_TIMESTAMP -> memberType == LocalDateTime.class;
+                case DECIMAL -> memberType == BigDecimal.class || memberType == Number.class;
+                case STRING -> memberType == String.class || memberType == byte[].class;
+                case UUID -> memberType == UUID.class;
+            };
+            if (!compatible && memberType != Object.class) {
+                throw new IllegalArgumentException("Column %s of type %s can't be bound to %s %s.%s"
+                        .formatted(column.getName(), column, memberType.getSimpleName(), type.getSimpleName(), column.getName()));
+            }
+        }
+
+        Class<T> type() {
+            return type;
+        }
+
+        RecordMaterializer<T> newMaterializer() {
+            TypedGroupConverter<T> root = new TypedGroupConverter<>(this, null, -1);
+            return new RecordMaterializer<>() {
+                @Override
+                public T getCurrentRecord() {
+                    return root.build();
+                }
+
+                @Override
+                public GroupConverter getRootConverter() {
+                    return root;
+                }
+            };
+        }
+
+        Slots newSlots() {
+            return new Slots(slotCounts);
+        }
+
+        @SuppressWarnings("unchecked")
+        T newInstance(Slots slots) {
+            try {
+                if (type.isRecord()) {
+                    return (T) (Object) factory.invokeExact(slots);
+                }
+                Object instance = (Object) factory.invokeExact();
+                for (MethodHandle setter : setters) {
+                    setter.invokeExact(instance, slots);
+                }
+                return (T) instance;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Can't create %s: %s".formatted(type.getName(), e.getMessage()), e);
+            }
+        }
+
+        private Converter[] createConverters(Slots slots) {
+            Converter[] converters = new Converter[schema.getFieldCount()];
+            for (Member member : members) {
+                converters[member.fieldIndex()] = member.nested() != null
+                        ? new TypedGroupConverter<>(member.nested(), slots, member.slot())
+                        : createConverter(member, slots);
+            }
+            for (int i = 0; i < converters.length; i++) {
+                if (converters[i] == null) {
+                    // unbound fields are still read when the schema wasn't projected to the class
+                    Type field = schema.getType(i);
+                    converters[i] = field.isPrimitive()
+                            ? NoopGroupConverter.NOOP_PRIMITIVE
+                            : new NoopGroupConverter(field.asGroupType());
+                }
+            }
+            return converters;
+        }
+
+        private Converter createConverter(Member member, Slots slots) {
+            int slot = member.slot();
+            PrimitiveType column = member.field().asPrimitiveType();
+            return switch (member.kind()) {
+                case BOOLEAN -> new BooleanSlotConverter(slots.booleans, slot);
+                case INT -> new IntSlotConverter(slots.ints, slot);
+                case LONG -> new LongSlotConverter(slots.longs, slot);
+                case FLOAT -> new FloatSlotConverter(slots.floats, slot);
+                case DOUBLE -> new DoubleSlotConverter(slots.doubles, slot);
+                case REF -> switch (ValueType.of(column)) {
+                    case DATE -> new DateRefConverter(slots.refs, slot, column);
+                    case TIMESTAMP_MILLIS, TIMESTAMP_MICROS, TIMESTAMP_NANOS ->
+                            new TimestampRefConverter(slots.refs, slot, column, ValueType.of(column).unitsPerSecond());
+                    case INT96_TIMESTAMP -> new Int96RefConverter(slots.refs, slot, column);
+                    case DECIMAL -> new DecimalRefConverter(slots.refs, slot, column, ValueType.scale(column));
+                    case STRING -> member.memberType() == byte[].class
+                            ? new BytesRefConverter(slots.refs, slot)
+                            : new StringRefConverter(slots.refs, slot, column);
+                    case UUID -> new UuidRefConverter(slots.refs, slot, column);
+                    default -> new BoxedRefConverter(slots.refs, slot);
+                };
+            };
+        }
+    }
+
+    private static final class TypedGroupConverter<T> extends GroupConverter {
+        private final Binding<T> binding;
+        private final Slots slots;
+        private final Converter[] converters;
+        private final Object[] parentRefs;
+        private final int parentSlot;
+
+        TypedGroupConverter(Binding<T> binding, Slots parentSlots, int parentSlot) {
+            this.binding = binding;
+            this.slots = binding.newSlots();
+            this.parentRefs = parentSlots == null ? null : parentSlots.refs;
+            this.parentSlot = parentSlot;
+            this.converters = binding.createConverters(slots);
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+            slots.clear();
+        }
+
+        @Override
+        public void end() {
+            if (parentRefs != null) {
+                parentRefs[parentSlot] = binding.newInstance(slots);
+            }
+        }
+
+        T build() {
+            return binding.newInstance(slots);
+        }
+    }
+
+    private static final class BooleanSlotConverter extends PrimitiveConverter {
+        private final boolean[] slots;
+        private final int slot;
+
+        BooleanSlotConverter(boolean[] slots, int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+            slots[slot] = value;
+        }
+    }
+
+    private static final class IntSlotConverter extends PrimitiveConverter {
+        private final int[] slots;
+        private final int slot;
+
+        IntSlotConverter(int[] slots, int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+
+        @Override
+        public void addInt(int value) {
+            slots[slot] = value;
+        }
+    }
+
+    private static final class LongSlotConverter extends PrimitiveConverter {
+        private final long[] slots;
+        private final int slot;
+
+        LongSlotConverter(long[] slots, int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+
+        @Override
+        public void addInt(int value) {
+            slots[slot] = value;
+        }
+
+        @Override
+        public void addLong(long value) {
+            slots[slot] = value;
+        }
+    }
+
+    private static final class FloatSlotConverter extends PrimitiveConverter {
+        private final float[] slots;
+        private final int slot;
+
+        FloatSlotConverter(float[] slots, int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+
+        @Override
+        public void addFloat(float value) {
+            slots[slot] = value;
+        }
+    }
+
+    private static final class DoubleSlotConverter extends PrimitiveConverter {
+        private final double[] slots;
+        private final int slot;
+
+        DoubleSlotConverter(double[] slots, int slot) {
+            this.slots = slots;
+            this.slot = slot;
+        }
+
+        @Override
+        public void addInt(int value) {
+            slots[slot] = value;
+        }
+
+        @Override
+        public void addLong(long value) {
+            slots[slot] = value;
+        }
+
+        @Override
+        public void addFloat(float value) {
+            slots[slot] = value;
+        }
+
+        @Override
+        public void addDouble(double value) {
+            slots[slot] = value;
+        }
+    }
+
+    private abstract static class RefConverter extends PrimitiveConverter {
+        protected final Object[] refs;
+        protected final int slot;
+
+        RefConverter(Object[] refs, int slot) {
+            this.refs = refs;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Converter of the members holding immutable objects, reusing the converted values of dictionary encoded pages.
+     */
+    private abstract static class DictionaryRefConverter extends RefConverter {
+        private final DictionaryValues dictionaryValues;
+
+        DictionaryRefConverter(Object[] refs, int slot, PrimitiveType column) {
+            super(refs, slot);
+            this.dictionaryValues = DictionaryValues.of(column);
+        }
+
+        @Override
+        public boolean hasDictionarySupport() {
+            return true;
+        }
+
+        @Override
+        public void setDictionary(Dictionary dictionary) {
+            dictionaryValues.set(dictionary);
+        }
+
+        @Override
+        public void addValueFromDictionary(int dictionaryId) {
+            refs[slot] = dictionaryValues.get(dictionaryId);
+        }
+    }
+
+    private static final class BoxedRefConverter extends RefConverter {
+        BoxedRefConverter(Object[] refs, int slot) {
+            super(refs, slot);
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+            refs[slot] = value;
+        }
+
+        @Override
+        public void addInt(int value) {
+            refs[slot] = value;
+        }
+
+        @Override
+        public void addLong(long value) {
+            refs[slot] = value;
+        }
+
+        @Override
+        public void addFloat(float value) {
+            refs[slot] = value;
+        }
+
+        @Override
+        public void addDouble(double value) {
+            refs[slot] = value;
+        }
+    }
+
+    private static final class DateRefConverter extends DictionaryRefConverter {
+        DateRefConverter(Object[] refs, int slot, PrimitiveType column) {
+            super(refs, slot, column);
+        }
+
+        @Override
+        public void addInt(int value) {
+            refs[slot] = ValueType.toLocalDate(value);
+        }
+    }
+
+    private static final class TimestampRefConverter extends DictionaryRefConverter {
+        private final long unitsPerSecond;
+
+        TimestampRefConverter(Object[] refs, int slot, PrimitiveType column, long unitsPerSecond) {
+            super(refs, slot, column);
+            this.unitsPerSecond = unitsPerSecond;
+        }
+
+        @Override
+        public void addLong(long value) {
+            refs[slot] = ValueType.toLocalDateTime(value, unitsPerSecond);
+        }
+    }
+
+    private static final class Int96RefConverter extends DictionaryRefConverter {
+        Int96RefConverter(Object[] refs, int slot, PrimitiveType column) {
+            super(refs, slot, column);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            refs[slot] = ValueType.int96ToLocalDateTime(value);
+        }
+    }
+
+    private static final class DecimalRefConverter extends DictionaryRefConverter {
+        private final int scale;
+
+        DecimalRefConverter(Object[] refs, int slot, PrimitiveType column, int scale) {
+            super(refs, slot, column);
+            this.scale = scale;
+        }
+
+        @Override
+        public void addInt(int value) {
+            refs[slot] = BigDecimal.valueOf(value, scale);
+        }
+
+        @Override
+        public void addLong(long value) {
+            refs[slot] = BigDecimal.valueOf(value, scale);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            refs[slot] = ValueType.toBigDecimal(value, scale);
+        }
+    }
+
+    private static final class StringRefConverter extends DictionaryRefConverter {
+        StringRefConverter(Object[] refs, int slot, PrimitiveType column) {
+            super(refs, slot, column);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            refs[slot] = value.toStringUsingUTF8();
+        }
+    }
+
+    private static final class BytesRefConverter extends RefConverter {
+        BytesRefConverter(Object[] refs, int slot) {
+            super(refs, slot);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            refs[slot] = value.getBytes();
+        }
+    }
+
+    private static final class UuidRefConverter extends DictionaryRefConverter {
+        UuidRefConverter(Object[] refs, int slot, PrimitiveType column) {
+            super(refs, slot, column);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            refs[slot] = ValueType.toUuid(value);
+        }
+    }
+}
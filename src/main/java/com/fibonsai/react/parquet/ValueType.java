@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimestampLogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Java value produced for a parquet primitive column, resolved once from its physical and logical type.
+ */
+enum ValueType {
+    BOOLEAN,
+    INT32,
+    INT64,
+    FLOAT,
+    DOUBLE,
+    DATE,
+    TIMESTAMP_MILLIS,
+    TIMESTAMP_MICROS,
+    TIMESTAMP_NANOS,
+    INT96_TIMESTAMP,
+    DECIMAL,
+    STRING,
+    UUID;
+
+    private static final long JULIAN_DAY_OF_EPOCH = 2_440_588L;
+
+    static ValueType of(PrimitiveType primitiveType) {
+        LogicalTypeAnnotation logicalType = primitiveType.getLogicalTypeAnnotation();
+        if (logicalType instanceof DecimalLogicalTypeAnnotation) {
+            return DECIMAL;
+        }
+        return switch (primitiveType.getPrimitiveTypeName()) {
+            case BOOLEAN -> BOOLEAN;
+            case INT32 -> logicalType instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation ? DATE : INT32;
+            case INT64 -> {
+                if (logicalType instanceof TimestampLogicalTypeAnnotation timestamp) {
+                    yield switch (timestamp.getUnit()) {
+                        case MILLIS -> TIMESTAMP_MILLIS;
+                        case MICROS -> TIMESTAMP_MICROS;
+                        case NANOS -> TIMESTAMP_NANOS;
+                    };
+                }
+                yield INT64;
+            }
+            case FLOAT -> FLOAT;
+            case DOUBLE -> DOUBLE;
+            case INT96 -> INT96_TIMESTAMP;
+            case BINARY, FIXED_LEN_BYTE_ARRAY ->
+                    logicalType instanceof LogicalTypeAnnotation.UUIDLogicalTypeAnnotation ? UUID : STRING;
+        };
+    }
+
+    static int scale(PrimitiveType primitiveType) {
+        if (primitiveType.getLogicalTypeAnnotation() instanceof DecimalLogicalTypeAnnotation decimal) {
+            return decimal.getScale();
+        }
+        return 0;
+    }
+
+    /**
+     * Units per second of the timestamp types, 0 otherwise.
+     */
+    long unitsPerSecond() {
+        return switch (this) {
+            case TIMESTAMP_MILLIS -> 1_000L;
+            case TIMESTAMP_MICROS -> 1_000_000L;
+            case TIMESTAMP_NANOS -> 1_000_000_000L;
+            default -> 0L;
+        };
+    }
+
+    static LocalDate toLocalDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    static LocalDateTime toLocalDateTime(long value, long unitsPerSecond) {
+        long seconds = Math.floorDiv(value, unitsPerSecond);
+        long nanos = Math.floorMod(value, unitsPerSecond) * (1_000_000_000L / unitsPerSecond);
+        return LocalDateTime.ofEpochSecond(seconds, (int) nanos, ZoneOffset.UTC);
+    }
+
+    static LocalDateTime int96ToLocalDateTime(Binary value) {
+        // 8 bytes of nanos of day followed by 4 bytes of julian day, both little endian
+        ByteBuffer buffer = value.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        long nanosOfDay = buffer.getLong();
+        int julianDay = buffer.getInt();
+        return LocalDateTime.of(LocalDate.ofEpochDay(julianDay - JULIAN_DAY_OF_EPOCH), LocalTime.ofNanoOfDay(nanosOfDay));
+    }
+
+    static long int96ToEpochNanos(Binary value) {
+        ByteBuffer buffer = value.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        long nanosOfDay = buffer.getLong();
+        int julianDay = buffer.getInt();
+        return Math.addExact(Math.multiplyExact(julianDay - JULIAN_DAY_OF_EPOCH, 86_400_000_000_000L), nanosOfDay);
+    }
+
+    static long toEpochUnits(LocalDateTime value, long unitsPerSecond) {
+        long seconds = value.toEpochSecond(ZoneOffset.UTC);
+        return Math.addExact(Math.multiplyExact(seconds, unitsPerSecond),
+                value.getNano() / (1_000_000_000L / unitsPerSecond));
+    }
+
+    static Binary toInt96(LocalDateTime value) {
+        ByteBuffer buffer = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(value.toLocalTime().toNanoOfDay());
+        buffer.putInt((int) (value.toLocalDate().toEpochDay() + JULIAN_DAY_OF_EPOCH));
+        return Binary.fromConstantByteArray(buffer.array());
+    }
+
+    static BigDecimal toBigDecimal(Binary value, int scale) {
+        return new BigDecimal(new BigInteger(value.getBytes()), scale);
+    }
+
+    static UUID toUuid(Binary value) {
+        ByteBuffer buffer = value.toByteBuffer();
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static Binary toBinary(UUID value) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+        return Binary.fromConstantByteArray(buffer.array());
+    }
+}
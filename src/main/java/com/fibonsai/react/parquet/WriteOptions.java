@@ -0,0 +1,212 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Options used by {@link ReactParquetWriter} to write a parquet file.
+ */
+public class WriteOptions {
+
+    public static final int DEFAULT_BUFFERED_ROWS = 1024;
+
+    private static final WriteOptions DEFAULTS = builder().build();
+
+    private final long rowGroupSize;
+    private final int pageSize;
+    private final int dictionaryPageSize;
+    private final boolean dictionaryEncoding;
+    private final CompressionCodecName codec;
+    private final boolean overwrite;
+    private final Map<String, String> extraMetadata;
+    private final int bufferedRows;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final Scheduler scheduler;
+
+    private WriteOptions(Builder builder) {
+        this.rowGroupSize = builder.rowGroupSize;
+        this.pageSize = builder.pageSize;
+        this.dictionaryPageSize = builder.dictionaryPageSize;
+        this.dictionaryEncoding = builder.dictionaryEncoding;
+        this.codec = builder.codec;
+        this.overwrite = builder.overwrite;
+        this.extraMetadata = builder.extraMetadata;
+        this.bufferedRows = builder.bufferedRows;
+        this.chunkSize = builder.chunkSize;
+        this.maxPendingChunks = builder.maxPendingChunks;
+        this.scheduler = builder.scheduler;
+    }
+
+    public static WriteOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long rowGroupSize() {
+        return rowGroupSize;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public int dictionaryPageSize() {
+        return dictionaryPageSize;
+    }
+
+    public boolean dictionaryEncoding() {
+        return dictionaryEncoding;
+    }
+
+    public CompressionCodecName codec() {
+        return codec;
+    }
+
+    public boolean overwrite() {
+        return overwrite;
+    }
+
+    public Map<String, String> extraMetadata() {
+        return extraMetadata;
+    }
+
+    public int bufferedRows() {
+        return bufferedRows;
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    public int maxPendingChunks() {
+        return maxPendingChunks;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler == null ? Schedulers.boundedElastic() : scheduler;
+    }
+
+    public static class Builder {
+        private long rowGroupSize = ParquetWriter.DEFAULT_BLOCK_SIZE;
+        private int pageSize = ParquetProperties.DEFAULT_PAGE_SIZE;
+        private int dictionaryPageSize = ParquetProperties.DEFAULT_DICTIONARY_PAGE_SIZE;
+        private boolean dictionaryEncoding = ParquetProperties.DEFAULT_IS_DICTIONARY_ENABLED;
+        private CompressionCodecName codec = CompressionCodecName.SNAPPY;
+        private boolean overwrite = false;
+        private Map<String, String> extraMetadata = Map.of();
+        private int bufferedRows = DEFAULT_BUFFERED_ROWS;
+        private int chunkSize = NioOutputFile.DEFAULT_CHUNK_SIZE;
+        private int maxPendingChunks = NioOutputFile.DEFAULT_MAX_PENDING_CHUNKS;
+        private Scheduler scheduler;
+
+        private Builder() {}
+
+        /**
+         * Size of the row groups, the rows of a row group are buffered in memory, encoded, until it is full.
+         */
+        public Builder rowGroupSize(long rowGroupSize) {
+            this.rowGroupSize = rowGroupSize;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder dictionaryPageSize(int dictionaryPageSize) {
+            this.dictionaryPageSize = dictionaryPageSize;
+            return this;
+        }
+
+        public Builder dictionaryEncoding(boolean dictionaryEncoding) {
+            this.dictionaryEncoding = dictionaryEncoding;
+            return this;
+        }
+
+        /**
+         * Compression codec of the pages, SNAPPY by default.
+         */
+        public Builder codec(CompressionCodecName codec) {
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * Overwrites the file if it exists, otherwise writing an existing file fails. Disabled by default.
+         */
+        public Builder overwrite(boolean overwrite) {
+            this.overwrite = overwrite;
+            return this;
+        }
+
+        /**
+         * Key value metadata stored in the footer.
+         */
+        public Builder extraMetadata(Map<String, String> extraMetadata) {
+            this.extraMetadata = Map.copyOf(extraMetadata);
+            return this;
+        }
+
+        /**
+         * Maximum number of rows requested from the source flux and not yet written. Together with the row group
+         * size and the pending chunks, it bounds the memory used by a writer.
+         */
+        public Builder bufferedRows(int bufferedRows) {
+            if (bufferedRows < 1) {
+                throw new IllegalArgumentException("bufferedRows must be positive: %d".formatted(bufferedRows));
+            }
+            this.bufferedRows = bufferedRows;
+            return this;
+        }
+
+        /**
+         * Encoded bytes are written to the file in chunks of chunkSize bytes by a background thread, with up to
+         * maxPendingChunks chunks waiting to be written, see {@link NioOutputFile}.
+         */
+        public Builder chunks(int chunkSize, int maxPendingChunks) {
+            if (chunkSize < 1 || maxPendingChunks < 1) {
+                throw new IllegalArgumentException("chunkSize and maxPendingChunks must be positive: %d, %d"
+                        .formatted(chunkSize, maxPendingChunks));
+            }
+            this.chunkSize = chunkSize;
+            this.maxPendingChunks = maxPendingChunks;
+            return this;
+        }
+
+        /**
+         * Scheduler the rows are encoded on, {@link Schedulers#boundedElastic()} by default.
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public WriteOptions build() {
+            return new WriteOptions(this);
+        }
+    }
+}
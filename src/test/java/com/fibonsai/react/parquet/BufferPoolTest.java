@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferPoolTest {
+
+    @Test
+    void recyclesBuffersBySizeClass() {
+        BufferPool pool = new BufferPool(16 * 1024);
+        ByteBuffer buffer = pool.allocate(1000);
+        assertTrue(buffer.isDirect());
+        assertEquals(BufferPool.MIN_BUFFER_SIZE, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(1000, buffer.limit());
+        assertEquals(new BufferPool.Stats(0, 1, 4096, 0), pool.stats());
+
+        pool.release(buffer);
+        assertEquals(new BufferPool.Stats(0, 1, 0, 4096), pool.stats());
+        ByteBuffer reused = pool.allocate(4096);
+        assertSame(buffer, reused);
+        assertEquals(4096, reused.limit());
+        assertEquals(new BufferPool.Stats(1, 1, 4096, 0), pool.stats());
+
+        ByteBuffer larger = pool.allocate(4097);
+        assertEquals(8192, larger.capacity());
+        ByteBuffer unpooled = pool.allocate(BufferPool.MAX_BUFFER_SIZE + 1);
+        assertEquals(BufferPool.MAX_BUFFER_SIZE + 1, unpooled.capacity());
+        pool.release(unpooled);
+        pool.release(larger);
+        pool.release(reused);
+        // only 16 KiB of idle buffers are kept
+        ByteBuffer other = pool.allocate(16 * 1024);
+        pool.release(other);
+        assertEquals(new BufferPool.Stats(1, 4, 0, 4096 + 8192), pool.stats());
+    }
+
+    @Test
+    void readWithBufferPool(@TempDir Path tempDir) {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; optional binary name (STRING); }");
+        String target = tempDir.resolve("pooled.parquet").toString();
+        var rows = Flux.range(0, 20_000).map(i -> Map.<String, Object>of("id", i, "name", "name-" + i));
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                WriteOptions.builder().rowGroupSize(32 * 1024).build()).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() > 2);
+        ReactParquetReader reader = new ReactParquetReader();
+        var expected = reader.readParquetFile(target).collectList().block();
+        assertNotNull(expected);
+
+        for (BufferPool pool : List.of(new BufferPool(8 * 1024 * 1024), new BufferPool(8 * 1024 * 1024, false))) {
+            ReadOptions options = ReadOptions.builder().bufferPool(pool).build();
+            for (ReadOptions read : List.of(options, options.toBuilder().vectoredReads(false).build(),
+                    options.toBuilder().pageStreaming(true).build())) {
+                StepVerifier.create(reader.readParquetFile(target, read).collectList())
+                        .expectNext(expected)
+                        .verifyComplete();
+                // views copied while read keep their values once the pages are recycled
+                StepVerifier.create(reader.readParquetFileAsView(target, read).map(RowView::copy).collectList())
+                        .assertNext(views -> {
+                            assertEquals(expected.size(), views.size());
+                            for (int i = 0; i < views.size(); i += 997) {
+                                assertEquals(expected.get(i), views.get(i).toMap());
+                            }
+                        })
+                        .verifyComplete();
+                assertEquals(0, pool.stats().outstandingBytes(), pool.stats().toString());
+            }
+            assertTrue(pool.stats().hits() > 0, pool.stats().toString());
+        }
+    }
+}
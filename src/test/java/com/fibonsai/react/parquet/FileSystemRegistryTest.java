@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    // zip FileSystems stand in for the S3 ones, one zip file per root
+    private FileSystem newZipFileSystem(URI root) throws IOException {
+        created.incrementAndGet();
+        Path zip = tempDir.resolve(root.getAuthority() + ".zip");
+        return FileSystems.newFileSystem(zip, Map.of("create", "true"));
+    }
+
+    @Test
+    void leasesShareTheFileSystem() throws Exception {
+        try (var registry = new FileSystemRegistry(this::newZipFileSystem, Duration.ZERO)) {
+            URI root = URI.create("s3://bucket");
+            var first = registry.acquire(root);
+            var second = registry.acquire(root);
+            var other = registry.acquire(URI.create("s3://other"));
+
+            assertSame(first.fileSystem(), second.fileSystem());
+            assertNotSame(first.fileSystem(), other.fileSystem());
+            assertEquals(new FileSystemRegistry.Stats(1, 2, 0, 2, 3), registry.stats());
+
+            first.close();
+            first.close();
+            other.close();
+            registry.evictIdle();
+            assertTrue(first.fileSystem().isOpen());
+            assertFalse(other.fileSystem().isOpen());
+            assertEquals(new FileSystemRegistry.Stats(1, 2, 1, 1, 1), registry.stats());
+
+            second.close();
+            registry.evictIdle();
+            assertFalse(second.fileSystem().isOpen());
+            assertEquals(0, registry.stats().open());
+        }
+    }
+
+    @Test
+    void closedFileSystemIsRecreated() throws Exception {
+        try (var registry = new FileSystemRegistry(this::newZipFileSystem, Duration.ofMinutes(1))) {
+            URI root = URI.create("s3://bucket");
+            try (var lease = registry.acquire(root)) {
+                Files.writeString(lease.fileSystem().getPath("/key"), "value");
+                registry.evictIdle();
+                lease.fileSystem().close();
+            }
+            try (var lease = registry.acquire(root)) {
+                assertTrue(lease.fileSystem().isOpen());
+                assertEquals("value", Files.readString(lease.fileSystem().getPath("/key")));
+            }
+            // not idle for long enough
+            registry.evictIdle();
+            assertEquals(1, registry.stats().open());
+            assertEquals(2, created.get());
+        }
+    }
+
+    @Test
+    void defaultFileSystemIsNotPooled() {
+        var stats = SpiAlternativeUtil.registry().stats();
+        try (var lease = SpiAlternativeUtil.acquireFileSystem(tempDir.toString())) {
+            assertSame(FileSystems.getDefault(), lease.fileSystem());
+        }
+        assertEquals(stats, SpiAlternativeUtil.registry().stats());
+    }
+}
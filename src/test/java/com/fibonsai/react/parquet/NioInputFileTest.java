@@ -0,0 +1,158 @@
+
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.io.ParquetFileRange;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioInputFileTest {
+
+    private static Path userdata() throws Exception {
+        var resource = NioInputFileTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        return Paths.get(resource.toURI());
+    }
+
+    @Test
+    void mergeRanges() {
+        var ranges = List.of(
+                new ParquetFileRange(1000, 100),
+                new ParquetFileRange(0, 100),
+                new ParquetFileRange(150, 100),
+                new ParquetFileRange(5000, 10));
+
+        var merged = NioInputFile.mergeRanges(ranges, 64, 1024);
+
+        assertEquals(3, merged.size());
+        assertEquals(0, merged.get(0).offset());
+        assertEquals(250, merged.get(0).length());
+        assertEquals(2, merged.get(0).ranges().size());
+        assertEquals(1000, merged.get(1).offset());
+        assertEquals(5000, merged.get(2).offset());
+        assertEquals(1, NioInputFile.mergeRanges(ranges, 10_000, 10_000).size());
+        assertEquals(4, NioInputFile.mergeRanges(ranges, 10_000, 100).size());
+    }
+
+    @Test
+    void readVectored() throws Exception {
+        NioInputFile inputFile = new NioInputFile(userdata(), NioInputFile.DEFAULT_READ_AHEAD_SIZE, 64, 4096, 2);
+        var ranges = List.of(
+                new ParquetFileRange(4, 100),
+                new ParquetFileRange(120, 300),
+                new ParquetFileRange(10_000, 50));
+
+        try (SeekableInputStream stream = inputFile.newStream()) {
+            assertTrue(stream.readVectoredAvailable(new HeapByteBufferAllocator()));
+            stream.readVectored(ranges, new HeapByteBufferAllocator());
+            for (ParquetFileRange range : ranges) {
+                ByteBuffer vectored = range.getDataReadFuture().get();
+                byte[] expected = new byte[range.getLength()];
+                stream.seek(range.getOffset());
+                stream.readFully(expected);
+                assertEquals(ByteBuffer.wrap(expected), vectored);
+            }
+        }
+    }
+
+    @Test
+    void bufferedReads() throws Exception {
+        Path path = userdata();
+        NioInputFile inputFile = new NioInputFile(path, 1024);
+        byte[] expected = Files.readAllBytes(path);
+
+        try (SeekableInputStream stream = inputFile.newStream()) {
+            stream.seek(100);
+            for (int i = 100; i < 3000; i++) {
+                assertEquals(expected[i] & 0xFF, stream.read());
+            }
+            assertEquals(3000, stream.getPos());
+            assertEquals(3, inputFile.stats().channelReads());
+
+            // seeking back inside the buffer doesn't touch the channel
+            stream.seek(2500);
+            assertEquals(2500, stream.getPos());
+            byte[] bytes = new byte[100];
+            stream.readFully(bytes);
+            assertArrayEquals(Arrays.copyOfRange(expected, 2500, 2600), bytes);
+            assertEquals(3, inputFile.stats().channelReads());
+
+            // reads larger than the buffer bypass it
+            bytes = new byte[4000];
+            stream.seek(10_000);
+            stream.readFully(bytes);
+            assertArrayEquals(Arrays.copyOfRange(expected, 10_000, 14_000), bytes);
+            assertEquals(14_000, stream.getPos());
+
+            stream.seek(expected.length - 2);
+            assertEquals(1, stream.skip(1));
+            assertEquals(expected[expected.length - 1] & 0xFF, stream.read());
+            assertEquals(-1, stream.read());
+            assertThrows(EOFException.class, () -> stream.readFully(new byte[1]));
+        }
+
+        NioInputFile.Stats stats = inputFile.stats();
+        assertTrue(stats.logicalReads() > 2900);
+        assertTrue(stats.channelReads() < 10);
+    }
+
+    @Test
+    void forPath() throws Exception {
+        assertInstanceOf(NioInputFile.class, NioInputFile.forPath(userdata()));
+        assertInstanceOf(MappedNioInputFile.class,
+                NioInputFile.forPath(userdata(), ReadOptions.builder().memoryMapping(true).build()));
+    }
+
+    @Test
+    void mappedReadsAcrossSegments() throws Exception {
+        Path path = userdata();
+        NioInputFile channelFile = new NioInputFile(path);
+        MappedNioInputFile mappedFile = new MappedNioInputFile(path, 1000);
+        assertEquals(channelFile.getLength(), mappedFile.getLength());
+
+        byte[] expected = new byte[5000];
+        byte[] actual = new byte[5000];
+        try (SeekableInputStream channelStream = channelFile.newStream();
+             SeekableInputStream mappedStream = mappedFile.newStream()) {
+            channelStream.seek(1500);
+            channelStream.readFully(expected);
+            mappedStream.seek(1500);
+            mappedStream.readFully(actual);
+            assertArrayEquals(expected, actual);
+            assertEquals(6500, mappedStream.getPos());
+
+            ByteBuffer buffer = ByteBuffer.allocate(10);
+            mappedStream.seek(mappedFile.getLength() - 4);
+            assertEquals(4, mappedStream.read(buffer));
+            assertEquals(-1, mappedStream.read());
+
+            var ranges = List.of(new ParquetFileRange(1500, 5000), new ParquetFileRange(2100, 100));
+            mappedStream.readVectored(ranges, new HeapByteBufferAllocator());
+            assertEquals(ByteBuffer.wrap(expected), ranges.get(0).getDataReadFuture().get());
+            assertEquals(ByteBuffer.wrap(expected, 600, 100), ranges.get(1).getDataReadFuture().get());
+        }
+    }
+}
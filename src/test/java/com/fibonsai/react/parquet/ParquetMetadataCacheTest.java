@@ -0,0 +1,132 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParquetMetadataCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path copyOfUserdata(String name) throws Exception {
+        var resource = ParquetMetadataCacheTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        return Files.copy(Paths.get(resource.toURI()), tempDir.resolve(name));
+    }
+
+    @Test
+    void cachedFooterIsNotReadAgain() throws Exception {
+        Path path = copyOfUserdata("userdata.parquet");
+        ParquetMetadataCache cache = new ParquetMetadataCache(10, 1024 * 1024);
+
+        ParquetMetadata metadata = cache.metadata(path);
+        assertEquals(1000, metadata.getBlocks().getFirst().getRowCount());
+
+        NioInputFile inputFile = new NioInputFile(path);
+        var cached = cache.get(path, inputFile);
+        assertSame(metadata, cached.metadata());
+        assertEquals(new ParquetMetadataCache.Stats(1, 1, 0, 1, cache.stats().bytes()), cache.stats());
+
+        try (var reader = new ParquetFileReader(cached.inputFile(inputFile),
+                ParquetReadOptions.builder(new PlainParquetConfiguration()).build())) {
+            assertEquals(0, inputFile.stats().channelReads());
+            assertEquals(1000, reader.readNextRowGroup().getRowCount());
+            assertTrue(inputFile.stats().channelReads() > 0);
+        }
+    }
+
+    @Test
+    void modifiedFileIsReloaded() throws Exception {
+        Path path = copyOfUserdata("userdata.parquet");
+        ParquetMetadataCache cache = new ParquetMetadataCache(10, 1024 * 1024);
+
+        ParquetMetadata metadata = cache.metadata(path);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertNotSame(metadata, cache.metadata(path));
+        assertEquals(2, cache.stats().misses());
+        assertEquals(1, cache.stats().entries());
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() throws Exception {
+        Path first = copyOfUserdata("first.parquet");
+        Path second = copyOfUserdata("second.parquet");
+        Path third = copyOfUserdata("third.parquet");
+        ParquetMetadataCache cache = new ParquetMetadataCache(2, 1024 * 1024);
+
+        cache.metadata(first);
+        cache.metadata(second);
+        cache.metadata(first);
+        cache.metadata(third);
+        cache.metadata(first);
+
+        var stats = cache.stats();
+        assertEquals(2, stats.entries());
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.hits());
+
+        cache.metadata(second);
+        assertEquals(4, cache.stats().misses());
+    }
+
+    @Test
+    void entriesAreWeighedByTheirParsedMetadata() throws Exception {
+        Path first = copyOfUserdata("first.parquet");
+        Path second = copyOfUserdata("second.parquet");
+        // two raw footers of userdata.parquet fit, not their 13 parsed columns
+        ParquetMetadataCache cache = new ParquetMetadataCache(10, 16 * 1024);
+
+        ParquetMetadata metadata = cache.metadata(first);
+        long bytes = cache.stats().bytes();
+        assertTrue(bytes > 13 * 512, "bytes " + bytes);
+        cache.get(first, new NioInputFile(first)).columnIO(metadata.getFileMetaData().getSchema());
+        assertTrue(cache.stats().bytes() > bytes, "bytes " + cache.stats().bytes());
+
+        cache.metadata(second);
+        assertEquals(1, cache.stats().entries());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void readParquetFileWithCache() throws Exception {
+        Path path = copyOfUserdata("userdata.parquet");
+        ParquetMetadataCache cache = new ParquetMetadataCache(10, 1024 * 1024);
+        ReadOptions options = ReadOptions.builder().metadataCache(cache).memoryMapping(false).build();
+        ReactParquetReader reader = new ReactParquetReader();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(reader.readParquetFile(path.toString(), options))
+                    .expectNextCount(1000)
+                    .verifyComplete();
+        }
+        assertEquals(1, cache.stats().misses());
+        assertEquals(1, cache.stats().hits());
+    }
+}
@@ -15,9 +15,25 @@
 
 package com.fibonsai.react.parquet;
 
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,4 +66,187 @@ class ParquetUtilsTest {
     void showMetadataBadFile() {
         assertThrows(RuntimeException.class, () -> ParquetUtils.showMetadata("badfile.parquet"));
     }
+
+    @Test
+    void projectSchemaNested() {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message test {
+                  required int64 id;
+                  optional binary name (STRING);
+                  optional group address {
+                    optional binary city (STRING);
+                    optional binary street (STRING);
+                  }
+                }
+                """);
+
+        MessageType projection = ParquetUtils.projectSchema(schema, List.of("address.city", "id"));
+
+        assertEquals(MessageTypeParser.parseMessageType("""
+                message test {
+                  required int64 id;
+                  optional group address {
+                    optional binary city (STRING);
+                  }
+                }
+                """), projection);
+        assertThrows(IllegalArgumentException.class, () -> ParquetUtils.projectSchema(schema, List.of("address.zip")));
+
+        assertEquals(MessageTypeParser.parseMessageType("""
+                message test {
+                  optional group address {
+                    optional binary city (STRING);
+                    optional binary street (STRING);
+                  }
+                }
+                """), ParquetUtils.projectSchema(schema, List.of("address", "address.city")));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParquetUtils.projectSchema(schema, List.of("address", "address.zip")));
+    }
+
+    @Test
+    void planSplitsAndReadRowGroups(@TempDir Path tempDir) {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; optional binary name (STRING); }");
+        String target = tempDir.resolve("splits.parquet").toString();
+        var rows = Flux.range(0, 5000)
+                .map(i -> Map.<String, Object>of("id", i, "name", "name-" + i));
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                WriteOptions.builder().rowGroupSize(8 * 1024).dictionaryEncoding(false).build()).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() >= 4);
+
+        List<FileSplit> splits = ParquetUtils.planSplits(target, 3, FileSplit.Balance.COMPRESSED_BYTES);
+
+        assertEquals(3, splits.size());
+        assertEquals(IntStream.range(0, written.rowGroups()).boxed().toList(),
+                splits.stream().flatMap(split -> split.rowGroups().stream()).toList());
+        assertEquals(5000, splits.stream().mapToLong(FileSplit::rowCount).sum());
+        long maxBytes = splits.stream().mapToLong(FileSplit::compressedBytes).max().orElseThrow();
+        long minBytes = splits.stream().mapToLong(FileSplit::compressedBytes).min().orElseThrow();
+        assertTrue(maxBytes < 2 * minBytes, "unbalanced splits: " + splits);
+        splits.forEach(split -> assertEquals(1, split.byteRanges().size()));
+
+        ReactParquetReader reader = new ReactParquetReader();
+        List<Map<String, Object>> read = new ArrayList<>();
+        for (FileSplit split : splits) {
+            var splitRows = reader.readRowGroups(target, split).collectList().block();
+            assertNotNull(splitRows);
+            assertEquals(split.rowCount(), splitRows.size());
+            read.addAll(splitRows);
+        }
+        assertEquals(reader.readParquetFile(target).collectList().block(), read);
+        assertEquals(written.rowGroups(), ParquetUtils.planSplits(target, 100, FileSplit.Balance.ROWS).size());
+        assertThrows(IllegalArgumentException.class, () -> reader.readParquetFile(target,
+                ReadOptions.builder().rowGroups(List.of(written.rowGroups())).build()).blockLast());
+    }
+
+    @Test
+    void showStatisticsAndAggregates(@TempDir Path tempDir) throws Exception {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message test {
+                  required int32 id;
+                  optional binary name (STRING);
+                  optional int64 score;
+                }
+                """);
+        String target = tempDir.resolve("stats.parquet").toString();
+        var rows = Flux.range(0, 20_000).map(i -> {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("name", "name-" + i);
+            if (i % 10 != 0) {
+                row.put("score", (long) i * 2);
+            }
+            return row;
+        });
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                WriteOptions.builder().rowGroupSize(32 * 1024).build()).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() > 2);
+
+        ParquetUtils.FileStats stats = ParquetUtils.showStatistics(target);
+
+        assertEquals(20_000, stats.rowsTotal());
+        assertEquals(written.rowGroups(), stats.rowGroups().size());
+        ParquetUtils.ColumnStats score = stats.columns().get("score");
+        assertEquals("Long", score.type());
+        assertEquals(20_000, score.valueCount());
+        assertEquals(2_000L, score.nullCount());
+        assertEquals(2L, score.min());
+        assertEquals(39_998L, score.max());
+        assertEquals(List.of("id", "name", "score"), List.copyOf(stats.columns().keySet()));
+        ParquetUtils.RowGroupStats first = stats.rowGroups().getFirst();
+        assertEquals(0, first.columns().get("id").min());
+        assertEquals((int) first.rowCount() - 1, first.columns().get("id").max());
+        assertTrue(first.compressedSize() > 0 && first.uncompressedSize() > 0);
+
+        ParquetMetadata footer = ParquetMetadataCache.shared().metadata(Paths.get(target));
+        FooterStatistics.Plan plan = FooterStatistics.plan(schema, footer.getBlocks(), "id",
+                FilterApi.gtEq(FilterApi.intColumn("id"), 15_000));
+        assertEquals(1, plan.scannedRowGroups().size());
+        assertEquals(List.of("id"), plan.scannedColumns());
+
+        ReactParquetReader reader = new ReactParquetReader();
+        StepVerifier.create(reader.count(target)).expectNext(20_000L).verifyComplete();
+        StepVerifier.create(reader.count(target, FilterApi.gtEq(FilterApi.intColumn("id"), 15_000)))
+                .expectNext(5_000L)
+                .verifyComplete();
+        StepVerifier.create(reader.count(target, FilterApi.eq(FilterApi.longColumn("score"), null)))
+                .expectNext(2_000L)
+                .verifyComplete();
+        StepVerifier.create(reader.min(target, "id")).expectNext(0).verifyComplete();
+        StepVerifier.create(reader.max(target, "id", FilterApi.lt(FilterApi.intColumn("id"), 12_345)))
+                .expectNext(12_344)
+                .verifyComplete();
+        StepVerifier.create(reader.max(target, "score", FilterApi.lt(FilterApi.intColumn("id"), 12_345)))
+                .expectNext(24_688L)
+                .verifyComplete();
+        StepVerifier.create(reader.max(target, "name")).expectNext("name-9999").verifyComplete();
+        StepVerifier.create(reader.min(target, "score", FilterApi.eq(FilterApi.intColumn("id"), 30)))
+                .verifyComplete();
+        StepVerifier.create(reader.min(target, "unknown")).expectError(IllegalArgumentException.class).verify();
+
+        ParquetMetadataCache cache = new ParquetMetadataCache(10, 1024 * 1024);
+        Scheduler io = Schedulers.newSingle("aggregate-io");
+        try {
+            ReadOptions options = ReadOptions.builder()
+                    .metadataCache(cache)
+                    .ioScheduler(io)
+                    .columns(List.of("name"))
+                    .rowRange(0, 10)
+                    .build();
+            StepVerifier.create(reader.count(target, null, options)
+                            .map(count -> count + ":" + Thread.currentThread().getName()))
+                    .assertNext(result -> assertTrue(result.startsWith("20000:aggregate-io"), result))
+                    .verifyComplete();
+            StepVerifier.create(reader.count(target, FilterApi.gtEq(FilterApi.intColumn("id"), 15_000), options))
+                    .expectNext(5_000L)
+                    .verifyComplete();
+            assertEquals(1, cache.stats().entries());
+            StepVerifier.create(reader.max(target, "id", null, options.toBuilder().metadataCache(null).build()))
+                    .expectNext(19_999)
+                    .verifyComplete();
+        } finally {
+            io.dispose();
+        }
+    }
+
+    @Test
+    void aggregatesWithoutStatistics() throws Exception {
+        var resource = ParquetUtilsTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+        ReactParquetReader reader = new ReactParquetReader();
+        var rows = reader.readParquetFile(parquetFilePath).collectList().block();
+        assertNotNull(rows);
+
+        // the binary statistics written by parquet-mr 1.8.1 are ignored, so the row group is scanned
+        assertNull(ParquetUtils.showStatistics(parquetFilePath).columns().get("first_name").min());
+        StepVerifier.create(reader.min(parquetFilePath, "first_name"))
+                .expectNext(rows.stream().map(row -> (String) row.get("first_name")).min(String::compareTo).orElseThrow())
+                .verifyComplete();
+        StepVerifier.create(reader.count(parquetFilePath, FilterApi.eq(FilterApi.binaryColumn("gender"), Binary.fromString("Female"))))
+                .expectNext(rows.stream().filter(row -> "Female".equals(row.get("gender"))).count())
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactParquetDatasetTest {
+
+    @TempDir
+    Path root;
+
+    @BeforeEach
+    void createDataset() throws Exception {
+        var resource = ReactParquetDatasetTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        Path userdata = Paths.get(resource.toURI());
+        for (String dir : List.of("date=2025-06-01/venue=X", "date=2025-06-01/venue=Y", "date=2025-06-02/venue=X")) {
+            Path partition = Files.createDirectories(root.resolve(dir));
+            Files.copy(userdata, partition.resolve("part-0.parquet"));
+        }
+        Files.createFile(root.resolve("date=2025-06-01/venue=X/_SUCCESS"));
+        Files.createDirectories(root.resolve("_temporary/date=2025-06-03"));
+        Files.copy(userdata, root.resolve("_temporary/date=2025-06-03/part-0.parquet"));
+    }
+
+    @Test
+    void listParquetDataset() {
+        ReactParquetReader reader = new ReactParquetReader();
+        DatasetOptions options = DatasetOptions.builder().partitionFilter("venue", "X"::equals).build();
+
+        var files = reader.listParquetDataset(root.toString(), options).collectList().block();
+
+        assertNotNull(files);
+        assertEquals(2, files.size());
+        assertEquals(Map.of("date", "2025-06-01", "venue", "X"), files.get(0).partitions());
+        assertEquals(Map.of("date", "2025-06-02", "venue", "X"), files.get(1).partitions());
+        assertEquals(List.of("date", "venue"), List.copyOf(files.get(0).partitions().keySet()));
+        assertTrue(files.get(0).path().endsWith("part-0.parquet"));
+    }
+
+    @Test
+    void readParquetDatasetOrdered() {
+        ReactParquetReader reader = new ReactParquetReader();
+        DatasetOptions options = DatasetOptions.builder()
+                .partitionFilter(partitions -> partitions.get("date").equals("2025-06-01"))
+                .readOptions(ReadOptions.builder().columns(List.of("id")).build())
+                .concurrency(2)
+                .build();
+
+        var rows = reader.readParquetDataset(root.toString(), options).collectList().block();
+
+        assertNotNull(rows);
+        assertEquals(2000, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            var row = rows.get(i);
+            assertEquals(i % 1000 + 1, row.get("id"));
+            assertEquals("2025-06-01", row.get("date"));
+            assertEquals(i < 1000 ? "X" : "Y", row.get("venue"));
+        }
+    }
+
+    @Test
+    void readParquetDatasetUnordered() {
+        ReactParquetReader reader = new ReactParquetReader();
+        DatasetOptions options = DatasetOptions.builder().ordered(false).build();
+
+        StepVerifier.create(reader.readParquetDataset(root.toString(), options))
+                .expectNextCount(3000)
+                .verifyComplete();
+    }
+
+    @Test
+    void readParquetDatasetFiles() {
+        ReactParquetReader reader = new ReactParquetReader();
+        DatasetOptions options = DatasetOptions.builder().partitionFilter("date", "2025-06-02"::equals).build();
+
+        StepVerifier.create(reader.readParquetDatasetFiles(root.toString(), options)
+                        .concatMap(part -> part.rows().count().map(count -> Map.entry(part.file().partitions(), count))))
+                .expectNext(Map.entry(Map.of("date", "2025-06-02", "venue", "X"), 1000L))
+                .verifyComplete();
+    }
+
+    @Test
+    void unescape() {
+        assertEquals("2025-06-01 10:00", HivePartitions.unescape("2025-06-01 10%3A00"));
+        assertEquals("a%zz", HivePartitions.unescape("a%zz"));
+        assertEquals("é/x", HivePartitions.unescape("é%2Fx"));
+    }
+}
@@ -15,12 +15,40 @@
 
 package com.fibonsai.react.parquet;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.Text;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,4 +83,655 @@ class ReactParquetReaderTest {
                 .expectError()
                 .verify();
     }
+
+    @Test
+    void readParquetFileProjection() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        Flux<Map<String, Object>> flux = reader.readParquetFile(parquetFilePath, List.of("id", "first_name"));
+
+        StepVerifier.create(flux)
+                .assertNext(row -> {
+                    assertEquals(Set.of("id", "first_name"), row.keySet());
+                    assertEquals(1, row.get("id"));
+                    assertEquals("Amanda", row.get("first_name"));
+                })
+                .expectNextCount(999)
+                .verifyComplete();
+    }
+
+    @Test
+    void readParquetFileProjectionUnknownColumn() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, List.of("id", "unknown")))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void readParquetFileFilter() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        long females = reader.readParquetFile(parquetFilePath)
+                .filter(row -> "Female".equals(row.get("gender")))
+                .count()
+                .block();
+        var genderFilter = FilterApi.eq(FilterApi.binaryColumn("gender"), Binary.fromString("Female"));
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, genderFilter))
+                .expectNextCount(females)
+                .verifyComplete();
+
+        var idFilter = FilterApi.lt(FilterApi.intColumn("id"), 11);
+        ReadOptions options = ReadOptions.builder().filter(idFilter).columns(List.of("id")).build();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, options).map(row -> row.get("id")))
+                .expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+                .verifyComplete();
+
+        // the filter column is read to filter the rows, but left out of them
+        var names = reader.readParquetFile(parquetFilePath, options.toBuilder().columns(List.of("first_name")).build())
+                .collectList()
+                .block();
+        assertNotNull(names);
+        assertEquals(10, names.size());
+        assertEquals(Map.of("first_name", "Amanda"), names.getFirst());
+        MessageType requested = MessageTypeParser.parseMessageType("message schema { optional binary first_name (STRING); }");
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, options.toBuilder().requestedSchema(requested).build()))
+                .expectNext(Map.of("first_name", "Amanda"))
+                .expectNextCount(9)
+                .verifyComplete();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, FilterApi.gt(FilterApi.intColumn("id"), 5000)))
+                .verifyComplete();
+    }
+
+    @Test
+    void readParquetFileParallel(@TempDir Path dir) {
+        MessageType schema = MessageTypeParser.parseMessageType(
+                "message test { required int32 id; optional binary name (STRING); }");
+        String target = dir.resolve("parallel.parquet").toString();
+        var rows = Flux.range(0, 20_000).map(i -> Map.<String, Object>of("id", i, "name", "name-" + i));
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                WriteOptions.builder().rowGroupSize(32 * 1024).build()).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() > 4);
+
+        ReactParquetReader reader = new ReactParquetReader();
+        ReadOptions options = ReadOptions.builder().parallelism(4).build();
+
+        var ids = reader.readParquetFile(target, options)
+                .map(row -> (Integer) row.get("id"))
+                .collectList()
+                .block();
+
+        assertNotNull(ids);
+        assertEquals(IntStream.range(0, 20_000).boxed().toList(), ids);
+    }
+
+    @Test
+    void readParquetFileThroughChannel() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+        ReadOptions options = ReadOptions.builder()
+                .memoryMapping(false)
+                .vectoredReads(false)
+                .readAheadSize(512)
+                .build();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, options).map(row -> row.get("id")))
+                .expectNext(1)
+                .expectNextCount(999)
+                .verifyComplete();
+    }
+
+    @Test
+    void readColumnBatches() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        var batches = reader.readColumnBatches(parquetFilePath, 256).collectList().block();
+
+        assertNotNull(batches);
+        assertEquals(List.of(256, 256, 256, 232), batches.stream().map(ColumnBatch::rowCount).toList());
+        assertEquals(13, batches.getFirst().columns().size());
+        assertEquals("Amanda", batches.getFirst().column("first_name").getString(0));
+        long idSum = 0;
+        long salaryNulls = 0;
+        for (ColumnBatch batch : batches) {
+            ColumnVector ids = batch.column("id");
+            ColumnVector salaries = batch.column("salary");
+            for (int row = 0; row < batch.rowCount(); row++) {
+                idSum += ids.getInt(row);
+                if (salaries.isNull(row)) {
+                    salaryNulls++;
+                }
+            }
+        }
+        assertEquals(500_500, idSum);
+        assertEquals(68, salaryNulls);
+    }
+
+    @Test
+    void readArrowBatches() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+        var expected = reader.readParquetFile(parquetFilePath).collectList().block();
+        assertNotNull(expected);
+
+        try (BufferAllocator allocator = new RootAllocator()) {
+            List<Map<String, Object>> rows = new CopyOnWriteArrayList<>();
+            List<Integer> rowCounts = new CopyOnWriteArrayList<>();
+            StepVerifier.create(reader.readArrowBatches(parquetFilePath, 256, allocator)
+                            .doOnNext(root -> {
+                                rowCounts.add(root.getRowCount());
+                                rows.addAll(arrowRows(root));
+                            })
+                            .then())
+                    .verifyComplete();
+            assertEquals(List.of(256, 256, 256, 232), rowCounts);
+            assertEquals(expected.size(), rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Map<String, Object> row = expected.get(i);
+                assertEquals(row.get("id"), rows.get(i).get("id"));
+                assertEquals(row.get("first_name"), rows.get(i).get("first_name"));
+                assertEquals(row.get("salary"), rows.get(i).get("salary"));
+                assertEquals(row.get("registration_dttm"), rows.get(i).get("registration_dttm"));
+            }
+            assertEquals(0, allocator.getAllocatedMemory());
+
+            List<Object> ids = new CopyOnWriteArrayList<>();
+            ReadOptions options = ReadOptions.builder().rowRange(100, 110).pageStreaming(true).build();
+            StepVerifier.create(reader.readArrowBatches(parquetFilePath, 4, allocator, options)
+                            .doOnNext(root -> arrowRows(root).forEach(row -> ids.add(row.get("id"))))
+                            .then())
+                    .verifyComplete();
+            assertEquals(List.of(101, 102, 103, 104, 105, 106, 107, 108, 109, 110), ids);
+            assertEquals(0, allocator.getAllocatedMemory());
+
+            StepVerifier.create(reader.readArrowBatches(parquetFilePath, 0, allocator))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+    }
+
+    @Test
+    void getArrowSchema() {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message test {
+                  required int64 id;
+                  optional int32 day (DATE);
+                  optional int64 at (TIMESTAMP(MICROS,true));
+                  optional fixed_len_byte_array(16) price (DECIMAL(32,4));
+                  optional group address { optional binary city (STRING); }
+                }""");
+        var fields = ParquetUtils.getArrowSchema(schema).getFields();
+        assertEquals(List.of("id", "day", "at", "price", "address.city"),
+                fields.stream().map(Field::getName).toList());
+        assertFalse(fields.getFirst().isNullable());
+        assertEquals(new ArrowType.Int(64, true), fields.get(0).getType());
+        assertEquals(new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC"), fields.get(2).getType());
+        assertEquals(new ArrowType.Decimal(32, 4, 128), fields.get(3).getType());
+        assertEquals(ArrowType.Utf8.INSTANCE, fields.get(4).getType());
+    }
+
+    private static List<Map<String, Object>> arrowRows(VectorSchemaRoot root) {
+        return IntStream.range(0, root.getRowCount())
+                .mapToObj(row -> {
+                    Map<String, Object> values = new HashMap<>();
+                    root.getFieldVectors().forEach(vector -> {
+                        Object value = vector.getObject(row);
+                        values.put(vector.getName(), value instanceof Text text
+                                ? text.toString()
+                                : value);
+                    });
+                    return values;
+                })
+                .toList();
+    }
+
+    @Test
+    void readRowRangeWithoutOffsetIndex() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+        ReadOptions options = ReadOptions.builder().rowRange(100, 110).build();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, options).map(row -> row.get("id")))
+                .expectNext(101, 102, 103, 104, 105, 106, 107, 108, 109, 110)
+                .verifyComplete();
+        var batches = reader.readColumnBatches(parquetFilePath, 4, options).collectList().block();
+        assertNotNull(batches);
+        assertEquals(List.of(4, 4, 2), batches.stream().map(ColumnBatch::rowCount).toList());
+        assertEquals(101, batches.getFirst().column("id").getInt(0));
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, ReadOptions.builder().rowRange(1000, 2000).build()))
+                .verifyComplete();
+    }
+
+    @Test
+    void readRowRangeWithOffsetIndex(@TempDir Path tempDir) {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; optional binary name (STRING); }");
+        String target = tempDir.resolve("range.parquet").toString();
+        var rows = Flux.range(0, 20_000).map(i -> Map.<String, Object>of("id", i, "name", "name-" + i));
+        WriteOptions writeOptions = WriteOptions.builder().rowGroupSize(32 * 1024).pageSize(1024).build();
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema, writeOptions).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() > 2);
+        ReactParquetReader reader = new ReactParquetReader();
+
+        var range = reader.readParquetFile(target, ReadOptions.builder().rowRange(12_345, 17_890).build())
+                .map(row -> row.get("id"))
+                .collectList()
+                .block();
+        assertEquals(IntStream.range(12_345, 17_890).boxed().toList(), range);
+
+        var batches = reader.readColumnBatches(target, 1000, ReadOptions.builder().rowRange(5_000, 5_010).build())
+                .collectList()
+                .block();
+        assertNotNull(batches);
+        assertEquals(10, batches.stream().mapToInt(ColumnBatch::rowCount).sum());
+        assertEquals(5_000, batches.getFirst().column("id").getInt(0));
+
+        ReadOptions filtered = ReadOptions.builder()
+                .rowRange(1_000, 19_000)
+                .filter(FilterApi.gtEq(FilterApi.intColumn("id"), 18_995))
+                .parallelism(2)
+                .build();
+        StepVerifier.create(reader.readParquetFile(target, filtered).map(row -> row.get("id")))
+                .expectNext(18_995, 18_996, 18_997, 18_998, 18_999)
+                .verifyComplete();
+    }
+
+    @Test
+    void readWithPrefetch(@TempDir Path tempDir) {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; optional binary name (STRING); }");
+        String target = tempDir.resolve("prefetch.parquet").toString();
+        var rows = Flux.range(0, 20_000).map(i -> Map.<String, Object>of("id", i, "name", "name-" + i));
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                WriteOptions.builder().rowGroupSize(32 * 1024).build()).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() > 2);
+        ReactParquetReader reader = new ReactParquetReader();
+        var expected = reader.readParquetFile(target, ReadOptions.builder().prefetch(0, 0).build()).collectList().block();
+        assertNotNull(expected);
+        assertEquals(20_000, expected.size());
+
+        Scheduler io = Schedulers.newSingle("prefetch-io");
+        try {
+            List<String> fetchThreads = new CopyOnWriteArrayList<>();
+            ReaderMetrics metrics = new ReaderMetrics() {
+                @Override
+                public void rowGroupRead(String filePath, long rowCount, long fetchNanos) {
+                    fetchThreads.add(Thread.currentThread().getName());
+                }
+            };
+            ReadOptions options = ReadOptions.builder().prefetch(3, 1024 * 1024).ioScheduler(io).metrics(metrics).build();
+            // subscribed from a non-blocking thread, the file is only waited for on the io scheduler
+            StepVerifier.create(reader.readParquetFile(target, options).subscribeOn(Schedulers.parallel()).collectList())
+                    .expectNext(expected)
+                    .verifyComplete();
+            assertEquals(written.rowGroups(), fetchThreads.size());
+            assertTrue(fetchThreads.stream().allMatch(name -> name.startsWith("prefetch-io")), fetchThreads.toString());
+
+            // a budget smaller than a row group still fetches the row groups one at a time
+            StepVerifier.create(reader.readParquetFile(target, ReadOptions.builder().prefetch(2, 1).build()).collectList())
+                    .expectNext(expected)
+                    .verifyComplete();
+            StepVerifier.create(reader.readParquetFile(target, options).take(10))
+                    .expectNextCount(10)
+                    .verifyComplete();
+        } finally {
+            io.dispose();
+        }
+    }
+
+    @Test
+    void readWithPageStreaming(@TempDir Path tempDir) throws Exception {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; optional binary name (STRING); }");
+        String target = tempDir.resolve("streaming.parquet").toString();
+        var rows = Flux.range(0, 20_000).map(i -> Map.<String, Object>of("id", i, "name", "name-" + i % 100));
+        WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                WriteOptions.builder().rowGroupSize(32 * 1024).build()).block();
+        assertNotNull(written);
+        assertTrue(written.rowGroups() > 2);
+        ReactParquetReader reader = new ReactParquetReader();
+        ReadOptions normal = ReadOptions.builder().build();
+        MemoryBudget budget = new MemoryBudget(1);
+        ReadOptions streaming = ReadOptions.builder().pageStreaming(true).memoryBudget(budget).build();
+
+        var expected = reader.readParquetFile(target, normal).collectList().block();
+        assertNotNull(expected);
+        assertEquals(20_000, expected.size());
+        StepVerifier.create(reader.readParquetFile(target, streaming).collectList())
+                .expectNext(expected)
+                .verifyComplete();
+        StepVerifier.create(reader.readParquetFile(target, streaming.toBuilder().parallelism(4).build()).collectList())
+                .expectNext(expected)
+                .verifyComplete();
+        StepVerifier.create(reader.readParquetFile(target, streaming.toBuilder()
+                        .filter(FilterApi.eq(FilterApi.intColumn("id"), 12_345)).build()))
+                .expectNext(expected.get(12_345))
+                .verifyComplete();
+        StepVerifier.create(reader.readParquetFile(target, streaming.toBuilder().rowRange(9_990, 10_010).build()).collectList())
+                .expectNext(expected.subList(9_990, 10_010))
+                .verifyComplete();
+        StepVerifier.create(reader.readColumnBatches(target, 1_000, streaming).map(ColumnBatch::rowCount).reduce(0, Integer::sum))
+                .expectNext(20_000)
+                .verifyComplete();
+        StepVerifier.create(reader.readParquetFile(target, streaming).take(10))
+                .expectNextCount(10)
+                .verifyComplete();
+        assertEquals(0, budget.usedBytes());
+
+        // readers sharing a budget smaller than a row group take turns, one row group at a time
+        StepVerifier.create(Flux.merge(
+                        reader.readParquetFile(target, normal.toBuilder().memoryBudget(budget).build()).count(),
+                        reader.readParquetFile(target, normal.toBuilder().memoryBudget(budget).prefetch(3, 1024 * 1024).build()).count(),
+                        reader.readParquetFile(target, streaming).count()))
+                .expectNext(20_000L, 20_000L, 20_000L)
+                .verifyComplete();
+        assertEquals(0, budget.usedBytes());
+
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String userdata = Paths.get(resource.toURI()).toAbsolutePath().toString();
+        StepVerifier.create(reader.readParquetFile(userdata, streaming).collectList())
+                .expectNext(reader.readParquetFile(userdata, normal).collectList().block())
+                .verifyComplete();
+    }
+
+    @Test
+    void readWithMemoryBudgetAcrossPausedReaders(@TempDir Path tempDir) throws Exception {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; optional binary name (STRING); }");
+        List<String> files = new ArrayList<>();
+        for (int part = 0; part < 4; part++) {
+            Path partition = Files.createDirectories(tempDir.resolve("part=" + part));
+            String target = partition.resolve("data.parquet").toString();
+            int first = part * 20_000;
+            var rows = Flux.range(first, 20_000).map(i -> Map.<String, Object>of("id", i, "name", "name-" + i));
+            WriteResult written = new ReactParquetWriter().writeParquetFile(rows, target, schema,
+                    WriteOptions.builder().rowGroupSize(96 * 1024).build()).block();
+            assertNotNull(written);
+            assertTrue(written.rowGroups() > 2);
+            files.add(target);
+        }
+        ReactParquetReader reader = new ReactParquetReader();
+        MemoryBudget budget = new MemoryBudget(100_000);
+        ReadOptions options = ReadOptions.builder().memoryBudget(budget).build();
+
+        // a reader waiting for the budget held by one it is zipped with, and which isn't read meanwhile
+        StepVerifier.create(Flux.zip(reader.readParquetFile(files.get(0), options),
+                                reader.readParquetFile(files.get(1), options))
+                        .count())
+                .expectNext(20_000L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+        assertEquals(0, budget.usedBytes());
+
+        DatasetOptions dataset = DatasetOptions.builder().readOptions(options).concurrency(4).build();
+        StepVerifier.create(reader.readParquetDataset(tempDir.toString(), dataset)
+                        .map(row -> (int) row.get("id"))
+                        .collectList())
+                .expectNext(IntStream.range(0, 80_000).boxed().toList())
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+        assertEquals(0, budget.usedBytes());
+    }
+
+    static class RecordingMetrics implements ReaderMetrics {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final AtomicLong bytesRead = new AtomicLong();
+        final AtomicLong channelReads = new AtomicLong();
+        final AtomicLong pages = new AtomicLong();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong demandWaitNanos = new AtomicLong();
+
+        @Override
+        public void footerCacheLookup(String filePath, boolean hit) {
+            events.add(hit ? "hit" : "miss");
+        }
+
+        @Override
+        public void fileRead(String filePath, long bytesRead, long channelReads) {
+            events.add("file");
+            this.bytesRead.addAndGet(bytesRead);
+            this.channelReads.addAndGet(channelReads);
+        }
+
+        @Override
+        public void rowGroupRead(String filePath, long rowCount, long fetchNanos) {
+            events.add("rowGroup " + rowCount);
+        }
+
+        @Override
+        public void columnRead(String filePath, ColumnDescriptor column, int pages, long decompressNanos, long decodeNanos) {
+            this.pages.addAndGet(pages);
+        }
+
+        @Override
+        public void rowGroupDecoded(String filePath, long rowCount, long decodeNanos) {
+            events.add("decoded " + rowCount);
+        }
+
+        @Override
+        public void rowsEmitted(String filePath, long rows, long demandWaitNanos) {
+            this.rows.addAndGet(rows);
+            this.demandWaitNanos.addAndGet(demandWaitNanos);
+        }
+    }
+
+    @Test
+    void readWithMetrics() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+        RecordingMetrics metrics = new RecordingMetrics();
+        ReadOptions options = ReadOptions.builder()
+                .metrics(metrics)
+                .memoryMapping(false)
+                .metadataCache(new ParquetMetadataCache(16, 1 << 20))
+                .build();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, options), 10)
+                .expectNextCount(10)
+                .thenAwait(Duration.ofMillis(50))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(990)
+                .verifyComplete();
+
+        assertEquals(List.of("miss", "rowGroup 1000", "decoded 1000", "file"), metrics.events);
+        assertTrue(metrics.bytesRead.get() > 0);
+        assertTrue(metrics.channelReads.get() > 0);
+        assertTrue(metrics.pages.get() >= 13);
+        assertEquals(1000, metrics.rows.get());
+        assertTrue(metrics.demandWaitNanos.get() >= Duration.ofMillis(40).toNanos(), "demand wait " + metrics.demandWaitNanos);
+
+        RecordingMetrics batchMetrics = new RecordingMetrics();
+        reader.readColumnBatches(parquetFilePath, 300, options.toBuilder().metrics(batchMetrics).build()).blockLast();
+        assertEquals(List.of("hit", "rowGroup 1000", "decoded 1000", "file"), batchMetrics.events);
+        assertEquals(1000, batchMetrics.rows.get());
+    }
+
+    record User(Integer id, String firstName, String lastName, LocalDateTime registrationDttm, Double salary) {}
+
+    static class Person {
+        private long id;
+        private String email;
+        private double salary;
+    }
+
+    @Test
+    void readParquetFileIntoRecord() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, User.class))
+                .assertNext(user -> {
+                    assertEquals(1, user.id());
+                    assertEquals("Amanda", user.firstName());
+                    assertEquals("Jordan", user.lastName());
+                    assertEquals(LocalDateTime.of(2016, 2, 3, 7, 55, 29), user.registrationDttm());
+                    assertEquals(49756.53, user.salary());
+                })
+                .expectNextCount(999)
+                .verifyComplete();
+
+        // the unbound filter column is read along with the bound ones, not every column of the file
+        Long females = reader.readParquetFile(parquetFilePath)
+                .filter(row -> "Female".equals(row.get("gender")))
+                .count()
+                .block();
+        RecordingMetrics all = new RecordingMetrics();
+        RecordingMetrics bound = new RecordingMetrics();
+        ReadOptions filtered = ReadOptions.builder()
+                .filter(FilterApi.eq(FilterApi.binaryColumn("gender"), Binary.fromString("Female")))
+                .build();
+        reader.readParquetFile(parquetFilePath, filtered.toBuilder().metrics(all).build()).blockLast();
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, User.class, filtered.toBuilder().metrics(bound).build())
+                        .count())
+                .expectNext(females)
+                .verifyComplete();
+        assertTrue(bound.pages.get() < all.pages.get(), bound.pages + " of " + all.pages);
+    }
+
+    @Test
+    void readParquetFileIntoPojo() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        // id and salary are optional, their nulls would read as zeros
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, Person.class))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(IllegalArgumentException.class, e);
+                    assertTrue(e.getMessage().contains("use Long"), e.getMessage());
+                })
+                .verify();
+
+        ReadOptions options = ReadOptions.builder().nullsAsDefaults(true).build();
+        var people = reader.readParquetFile(parquetFilePath, Person.class, options).collectList().block();
+
+        assertNotNull(people);
+        assertEquals(1000, people.size());
+        assertEquals(2L, people.get(1).id);
+        assertEquals("afreeman1@is.gd", people.get(1).email);
+        assertEquals(150280.17, people.get(1).salary);
+        assertEquals(68, people.stream().filter(person -> person.salary == 0d).count());
+    }
+
+    record Sale(int id, String country, BigDecimal amount, LocalDate day) {}
+
+    @Test
+    void readDictionaryEncodedValues(@TempDir Path tempDir) {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message test {
+                  required int32 id;
+                  optional binary country (STRING);
+                  optional int64 amount (DECIMAL(18,2));
+                  optional int32 day (DATE);
+                }
+                """);
+        List<String> countries = List.of("PT", "ES", "FR");
+        var rows = Flux.range(0, 3000).map(i -> Map.<String, Object>of(
+                "id", i,
+                "country", countries.get(i % 3),
+                "amount", BigDecimal.valueOf(i % 5, 2),
+                "day", LocalDate.of(2025, 1, 1 + i % 7)));
+        String dictionary = tempDir.resolve("dictionary.parquet").toString();
+        String plain = tempDir.resolve("plain.parquet").toString();
+        ReactParquetWriter writer = new ReactParquetWriter();
+        writer.writeParquetFile(rows, dictionary, schema).block();
+        writer.writeParquetFile(rows, plain, schema, WriteOptions.builder().dictionaryEncoding(false).build()).block();
+        ReactParquetReader reader = new ReactParquetReader();
+
+        var maps = reader.readParquetFile(dictionary).collectList().block();
+        assertNotNull(maps);
+        assertEquals(reader.readParquetFile(plain).collectList().block(), maps);
+        assertEquals(Map.of("id", 8, "country", "FR", "amount", new BigDecimal("0.03"), "day", LocalDate.of(2025, 1, 2)),
+                maps.get(8));
+        // dictionary entries are converted once and shared by the rows of the column chunk
+        assertSame(maps.get(1).get("country"), maps.get(2998).get("country"));
+        assertSame(maps.get(2).get("amount"), maps.get(2997).get("amount"));
+
+        var sales = reader.readParquetFile(dictionary, Sale.class).collectList().block();
+        assertNotNull(sales);
+        assertEquals(reader.readParquetFile(plain, Sale.class).collectList().block(), sales);
+        assertEquals(new Sale(8, "FR", new BigDecimal("0.03"), LocalDate.of(2025, 1, 2)), sales.get(8));
+        assertSame(sales.get(0).country(), sales.get(2997).country());
+        assertSame(sales.get(6).day(), sales.get(2995).day());
+    }
+
+    record BadUser(Integer id, int firstName) {}
+
+    @Test
+    void readParquetFileIntoIncompatibleRecord() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        StepVerifier.create(reader.readParquetFile(parquetFilePath, BadUser.class))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void readParquetFileAsView() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        var maps = reader.readParquetFile(parquetFilePath).collectList().block();
+        var views = reader.readParquetFileAsView(parquetFilePath).map(RowView::copy).collectList().block();
+
+        assertNotNull(maps);
+        assertNotNull(views);
+        assertEquals(maps.size(), views.size());
+        for (int i = 0; i < maps.size(); i++) {
+            assertEquals(maps.get(i), views.get(i).toMap());
+        }
+        RowView first = views.getFirst();
+        assertEquals(1, first.getInt(first.columnIndex("id")));
+        assertEquals(1L, first.getLong("id"));
+        assertEquals("Amanda", first.getString("first_name"));
+        assertEquals(49756.53, first.getDouble("salary"));
+    }
+
+    @Test
+    void readParquetFileAsViewReusesInstance() throws Exception {
+        ReactParquetReader reader = new ReactParquetReader();
+        var resource = ReactParquetReaderTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        String parquetFilePath = Paths.get(resource.toURI()).toAbsolutePath().toString();
+
+        long distinctViews = reader.readParquetFileAsView(parquetFilePath)
+                .map(System::identityHashCode)
+                .distinct()
+                .count()
+                .block();
+
+        assertEquals(1, distinctViews);
+    }
 }
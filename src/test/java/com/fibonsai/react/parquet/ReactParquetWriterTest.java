@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactParquetWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeParquetFileRoundTrip() throws Exception {
+        var resource = ReactParquetWriterTest.class.getClassLoader().getResource("userdata.parquet");
+        assertNotNull(resource);
+        Path userdata = Paths.get(resource.toURI());
+        MessageType schema = ParquetMetadataCache.shared().metadata(userdata).getFileMetaData().getSchema();
+        ReactParquetReader reader = new ReactParquetReader();
+        ReactParquetWriter writer = new ReactParquetWriter();
+        String target = tempDir.resolve("copy.parquet").toString();
+        WriteOptions options = WriteOptions.builder()
+                .rowGroupSize(32 * 1024)
+                .chunks(4096, 2)
+                .codec(CompressionCodecName.SNAPPY)
+                .build();
+
+        WriteResult result = writer.writeParquetFile(reader.readParquetFile(userdata.toString()), target, schema, options)
+                .block();
+
+        assertNotNull(result);
+        assertEquals(1000, result.rowCount());
+        assertTrue(result.rowGroups() > 1);
+        var expected = reader.readParquetFile(userdata.toString()).collectList().block();
+        var actual = reader.readParquetFile(target).collectList().block();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void writeLogicalTypes() {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message test {
+                  required int32 id;
+                  optional int32 day (DATE);
+                  optional int64 ts (TIMESTAMP(MICROS,true));
+                  optional int64 amount (DECIMAL(18,2));
+                  optional fixed_len_byte_array(8) price (DECIMAL(16,4));
+                  optional fixed_len_byte_array(16) uid (UUID);
+                  optional group address {
+                    optional binary city (STRING);
+                  }
+                  optional group tags (LIST) {
+                    repeated group list {
+                      optional binary element (STRING);
+                    }
+                  }
+                }
+                """);
+        UUID uid = UUID.randomUUID();
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1);
+        row.put("day", LocalDate.of(2025, 6, 1));
+        row.put("ts", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_000));
+        row.put("amount", new BigDecimal("-12.30"));
+        row.put("price", new BigDecimal("-0.0001"));
+        row.put("uid", uid);
+        row.put("address", Map.of("city", "Lisbon"));
+        row.put("tags", List.of("a", "b"));
+        String target = tempDir.resolve("types.parquet").toString();
+
+        StepVerifier.create(new ReactParquetWriter().writeParquetFile(Flux.just(row, Map.of("id", 2)), target, schema))
+                .expectNext(new WriteResult(target, 2, 1))
+                .verifyComplete();
+
+        var rows = new ReactParquetReader().readParquetFile(target, List.of("id", "day", "ts", "amount", "price", "uid", "address"))
+                .collectList()
+                .block();
+        assertNotNull(rows);
+        assertEquals(2, rows.size());
+        var first = rows.getFirst();
+        assertEquals(LocalDate.of(2025, 6, 1), first.get("day"));
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_000), first.get("ts"));
+        assertEquals(new BigDecimal("-12.30"), first.get("amount"));
+        assertEquals(new BigDecimal("-0.0001"), first.get("price"));
+        assertEquals(uid, first.get("uid"));
+        assertEquals(Map.of("city", "Lisbon"), first.get("address"));
+        assertEquals(Map.of("id", 2), rows.get(1));
+    }
+
+    @Test
+    void writeParquetFileErrorDeletesFile() {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; }");
+        Path target = tempDir.resolve("error.parquet");
+
+        StepVerifier.create(new ReactParquetWriter().writeParquetFile(Flux.just(Map.of("id", 1), Map.of()), target.toString(), schema))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void writeParquetFileExisting() throws Exception {
+        MessageType schema = MessageTypeParser.parseMessageType("message test { required int32 id; }");
+        Path target = Files.createFile(tempDir.resolve("existing.parquet"));
+        ReactParquetWriter writer = new ReactParquetWriter();
+
+        StepVerifier.create(writer.writeParquetFile(Flux.just(Map.of("id", 1)), target.toString(), schema))
+                .expectError(FileAlreadyExistsException.class)
+                .verify();
+
+        StepVerifier.create(writer.writeParquetFile(Flux.just(Map.of("id", 1)), target.toString(), schema,
+                        WriteOptions.builder().overwrite(true).build()))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
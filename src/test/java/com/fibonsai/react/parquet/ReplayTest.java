@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+
+    @Test
+    void replayParquetFile(@TempDir Path tempDir) {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message ticks {
+                  required int32 id;
+                  required int64 ts (TIMESTAMP(MICROS,true));
+                }
+                """);
+        LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 30);
+        String target = tempDir.resolve("ticks.parquet").toString();
+        var rows = Flux.range(0, 200).map(i -> Map.<String, Object>of("id", i, "ts", start.plusNanos(i * 1_000_000L)));
+        new ReactParquetWriter().writeParquetFile(rows, target, schema).block();
+        ReactParquetReader reader = new ReactParquetReader();
+
+        Replay<Map<String, Object>> replay = reader.replayParquetFile(target, "ts", ReplayOptions.builder().speed(2).build());
+        long begin = System.nanoTime();
+        var ids = replay.flux().map(row -> (Integer) row.get("id")).collectList().block();
+        long elapsed = System.nanoTime() - begin;
+
+        assertNotNull(ids);
+        assertEquals(200, ids.size());
+        assertEquals(IntStream.range(0, 200).boxed().toList(), ids);
+        // 199 ms of event time at twice real time
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(95), "replayed too fast: " + elapsed);
+        assertEquals(200, replay.stats().emitted());
+        assertTrue(replay.stats().ticks() < 200, "one tick per row: " + replay.stats());
+
+        StepVerifier.create(reader.replayParquetFile(target, "id").flux())
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void replayBatchesRowsPerTick() {
+        // 200k rows over 100 ms of event time
+        Flux<Long> eventTimes = Flux.range(0, 200_000).map(i -> i * 500L);
+        Replay<Long> replay = Replay.of(eventTimes, Long::longValue, ReplayOptions.builder().tick(Duration.ofMillis(2)).build());
+
+        StepVerifier.create(replay.flux())
+                .expectNextCount(200_000)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        Replay.Stats stats = replay.stats();
+        assertEquals(200_000, stats.emitted());
+        assertTrue(stats.ticks() < 10_000, "too many ticks: " + stats);
+        assertTrue(stats.maxLagNanos() >= 0);
+    }
+
+    @Test
+    void replayAsFastAsPossible() {
+        Flux<Long> eventTimes = Flux.just(0L, TimeUnit.HOURS.toNanos(1), TimeUnit.HOURS.toNanos(2));
+        Replay<Long> replay = Replay.of(eventTimes, Long::longValue, ReplayOptions.builder().asFastAsPossible().build());
+
+        StepVerifier.create(replay.flux())
+                .expectNextCount(3)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        assertEquals(3, replay.stats().emitted());
+    }
+
+    @Test
+    void replayCancel() {
+        Flux<Long> eventTimes = Flux.just(0L, TimeUnit.HOURS.toNanos(1));
+        Replay<Long> replay = Replay.of(eventTimes, Long::longValue, ReplayOptions.defaults());
+
+        StepVerifier.create(replay.flux())
+                .expectNext(0L)
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2025 fibonsai.com
+ *  All rights reserved.
+ *
+ *  This source is subject to the Apache License, Version 2.0.
+ *  Please see the LICENSE file for more information.
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.fibonsai.react.parquet;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueTypeTest {
+
+    @Test
+    void of() {
+        MessageType schema = MessageTypeParser.parseMessageType("""
+                message test {
+                  required int32 day (DATE);
+                  required int64 ts_millis (TIMESTAMP(MILLIS,true));
+                  required int64 ts_micros (TIMESTAMP(MICROS,false));
+                  required int64 amount (DECIMAL(18,4));
+                  required binary price (DECIMAL(10,2));
+                  required binary name (STRING);
+                  required fixed_len_byte_array(16) uid (UUID);
+                  required int96 legacy_ts;
+                }
+                """);
+
+        assertEquals(ValueType.DATE, ValueType.of(schema.getType("day").asPrimitiveType()));
+        assertEquals(ValueType.TIMESTAMP_MILLIS, ValueType.of(schema.getType("ts_millis").asPrimitiveType()));
+        assertEquals(ValueType.TIMESTAMP_MICROS, ValueType.of(schema.getType("ts_micros").asPrimitiveType()));
+        assertEquals(ValueType.DECIMAL, ValueType.of(schema.getType("amount").asPrimitiveType()));
+        assertEquals(4, ValueType.scale(schema.getType("amount").asPrimitiveType()));
+        assertEquals(ValueType.DECIMAL, ValueType.of(schema.getType("price").asPrimitiveType()));
+        assertEquals(2, ValueType.scale(schema.getType("price").asPrimitiveType()));
+        assertEquals(ValueType.STRING, ValueType.of(schema.getType("name").asPrimitiveType()));
+        assertEquals(ValueType.UUID, ValueType.of(schema.getType("uid").asPrimitiveType()));
+        assertEquals(ValueType.INT96_TIMESTAMP, ValueType.of(schema.getType("legacy_ts").asPrimitiveType()));
+    }
+
+    @Test
+    void conversions() {
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000),
+                ValueType.toLocalDateTime(-1, ValueType.TIMESTAMP_MILLIS.unitsPerSecond()));
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0, 1, 500_000),
+                ValueType.toLocalDateTime(1_000_500, ValueType.TIMESTAMP_MICROS.unitsPerSecond()));
+        assertEquals(new BigDecimal("-12.34"),
+                ValueType.toBigDecimal(Binary.fromConstantByteArray(new byte[]{(byte) 0xFB, 0x2E}), 2));
+
+        LocalDateTime dateTime = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000);
+        assertEquals(-1, ValueType.toEpochUnits(dateTime, ValueType.TIMESTAMP_MILLIS.unitsPerSecond()));
+        assertEquals(dateTime, ValueType.int96ToLocalDateTime(ValueType.toInt96(dateTime)));
+    }
+}